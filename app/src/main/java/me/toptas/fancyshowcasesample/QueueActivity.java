@@ -7,6 +7,7 @@ import android.widget.Button;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 import me.toptas.fancyshowcase.FancyShowCaseQueue;
+import me.toptas.fancyshowcase.FancyShowCaseSpec;
 import me.toptas.fancyshowcase.FancyShowCaseView;
 
 /**
@@ -29,29 +30,29 @@ public class QueueActivity extends BaseActivity {
         setContentView(R.layout.activity_queue);
         ButterKnife.bind(this);
 
-        final FancyShowCaseView fancyShowCaseView1 = new FancyShowCaseView.Builder(this)
+        final FancyShowCaseSpec step1 = new FancyShowCaseView.Builder(this)
                 .title("First Queue Item")
                 .focusOn(mButton1)
-                .build();
+                .buildSpec();
 
-        final FancyShowCaseView fancyShowCaseView2 = new FancyShowCaseView.Builder(this)
+        final FancyShowCaseSpec step2 = new FancyShowCaseView.Builder(this)
                 .title("Second Queue Item")
                 .focusOn(mButton2)
-                .build();
+                .buildSpec();
 
-        final FancyShowCaseView fancyShowCaseView3 = new FancyShowCaseView.Builder(this)
+        final FancyShowCaseSpec step3 = new FancyShowCaseView.Builder(this)
                 .title("Third Queue Item")
                 .focusOn(mButton3)
-                .build();
+                .buildSpec();
 
         mButton1.postDelayed(new Runnable() {
             @Override
             public void run() {
                 if (!isFinishing()) {
                     new FancyShowCaseQueue()
-                            .add(fancyShowCaseView1)
-                            .add(fancyShowCaseView2)
-                            .add(fancyShowCaseView3)
+                            .add(step1)
+                            .add(step2)
+                            .add(step3)
                             .show();
                 }
             }
@@ -0,0 +1,74 @@
+package me.toptas.fancyshowcase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import me.toptas.fancyshowcase.core.FocusGeometry;
+
+/**
+ * Geometry of a single focus area: the math FocusStore compiles the pulsed circle radius and
+ * round rectangle edges with, and FocusDescriptor.getFocusAreaRect()
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FocusGeometryBenchmark {
+
+    // non final so the JIT can not fold the math into constants
+    private int mCenterX = 540;
+    private int mCenterY = 960;
+    private int mWidth = 320;
+    private int mHeight = 96;
+    private int mRadius = 170;
+    private int mPadding = 12;
+    private float mAnimCounter = 7;
+    private double mAnimMoveFactor = 1;
+    // FancyShowCaseView.Builder#focusCircleRadiusFactor, 1 unless set
+    private double mFocusCircleRadiusFactor = 1;
+
+    @Benchmark
+    public float circleRadius() {
+        return FocusGeometry.circleRadius(mRadius, mPadding,
+                FocusGeometry.animOffset(mAnimCounter, mAnimMoveFactor));
+    }
+
+    @Benchmark
+    public void roundRectEdges(Blackhole blackhole) {
+        float offset = FocusGeometry.animOffset(mAnimCounter, mAnimMoveFactor);
+        blackhole.consume(FocusGeometry.rectStart(mCenterX, mWidth, mPadding, offset));
+        blackhole.consume(FocusGeometry.rectStart(mCenterY, mHeight, mPadding, offset));
+        blackhole.consume(FocusGeometry.rectEnd(mCenterX, mWidth, mPadding, offset));
+        blackhole.consume(FocusGeometry.rectEnd(mCenterY, mHeight, mPadding, offset));
+    }
+
+    /**
+     * Integer rectangle bounds as returned by FocusDescriptor.getFocusAreaRect(), without the
+     * android.graphics.Rect it allocates
+     */
+    @Benchmark
+    public void focusAreaRect(Blackhole blackhole) {
+        blackhole.consume(FocusGeometry.rectStart(mCenterX, mWidth, mPadding));
+        blackhole.consume(FocusGeometry.rectStart(mCenterY, mHeight, mPadding));
+        blackhole.consume(FocusGeometry.rectEnd(mCenterX, mWidth, mPadding));
+        blackhole.consume(FocusGeometry.rectEnd(mCenterY, mHeight, mPadding));
+    }
+
+    @Benchmark
+    public int viewRadius() {
+        return FocusGeometry.viewRadius(mWidth, mHeight, mFocusCircleRadiusFactor);
+    }
+}
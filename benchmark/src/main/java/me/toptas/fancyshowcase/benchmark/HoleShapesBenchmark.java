@@ -0,0 +1,116 @@
+package me.toptas.fancyshowcase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.toptas.fancyshowcase.core.FocusStore;
+
+/**
+ * Building the hole shapes of a frame the way FancyImageViewV2.onDraw does: every focus area is
+ * culled against the visible canvas and its pulsed shape is appended to the hole path. The path is
+ * an Android class, so shapes are written to a preallocated float buffer with the same arguments
+ * Path.addCircle and Path.addRoundRect would get.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoleShapesBenchmark {
+
+    private static final int CANVAS_WIDTH = 1080;
+    private static final int CANVAS_HEIGHT = 1920;
+    private static final int SHAPE_SIZE = 5;
+
+    @Param({"1", "10", "100", "1000"})
+    public int descriptorCount;
+
+    private int[][] mDescriptors;
+    private FocusStore mStore;
+    private float[] mShapes;
+    private float mOffset;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mDescriptors = new int[descriptorCount][];
+        for (int i = 0; i < descriptorCount; i++) {
+            // a quarter of the areas is off screen, like items of a long list
+            int centerX = random.nextInt(CANVAS_WIDTH);
+            int centerY = random.nextInt(CANVAS_HEIGHT * 4 / 3);
+            mDescriptors[i] = new int[]{i % 2, centerX, centerY, 40 + random.nextInt(120), 8,
+                    80 + random.nextInt(400), 40 + random.nextInt(120), 8, 8, 8, 8, 16, 0};
+        }
+        mStore = new FocusStore(descriptorCount);
+        for (int[] d : mDescriptors) {
+            pack(mStore, d);
+        }
+        mShapes = new float[descriptorCount * SHAPE_SIZE];
+        mOffset = 7;
+    }
+
+    /**
+     * Compiling the descriptors once, as done when the overlay is attached
+     */
+    @Benchmark
+    public FocusStore compileStore() {
+        FocusStore store = new FocusStore(descriptorCount);
+        for (int[] d : mDescriptors) {
+            pack(store, d);
+        }
+        return store;
+    }
+
+    /**
+     * One frame of the pulse animation read from the packed store, as FancyImageViewV2 does,
+     * should not allocate
+     */
+    @Benchmark
+    public int buildHoleShapes() {
+        FocusStore store = mStore;
+        int count = store.size();
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (!store.intersects(i, 0, 0, CANVAS_WIDTH, CANVAS_HEIGHT, mOffset, 1)) {
+                continue;
+            }
+            if (store.isCircle(i)) {
+                mShapes[size] = store.centerX(i);
+                mShapes[size + 1] = store.centerY(i);
+                mShapes[size + 2] = store.radius(i, mOffset);
+            } else {
+                mShapes[size] = store.rectLeft(i, mOffset);
+                mShapes[size + 1] = store.rectTop(i, mOffset);
+                mShapes[size + 2] = store.rectRight(i, mOffset);
+                mShapes[size + 3] = store.rectBottom(i, mOffset);
+                mShapes[size + 4] = store.cornerRadius(i);
+            }
+            size += SHAPE_SIZE;
+        }
+        return size;
+    }
+
+    private static void pack(FocusStore store, int[] d) {
+        int index = store.add();
+        store.setShape(index, d[0] == 1, true);
+        store.setCenter(index, d[1], d[2]);
+        store.setCircle(index, d[3], d[4]);
+        store.setRect(index, d[5], d[6], d[11]);
+        store.setRectPadding(index, d[7], d[8], d[9], d[10]);
+        store.setFeather(index, d[12]);
+    }
+}
@@ -0,0 +1,67 @@
+package me.toptas.fancyshowcase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import me.toptas.fancyshowcase.core.LabelPlacer;
+
+/**
+ * Placing the labels of a tour step, the budget is well under a millisecond for 50 labels
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelPlacerBenchmark {
+
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 1920;
+
+    @Param({"10", "50"})
+    public int labelCount;
+
+    private final LabelPlacer mPlacer = new LabelPlacer();
+    private float[] mFocusRects;
+    private float[] mLabels;
+    private float[] mOut;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mFocusRects = new float[labelCount * 4];
+        mLabels = new float[labelCount * 3];
+        for (int i = 0; i < labelCount; i++) {
+            float left = random.nextInt(SCREEN_WIDTH - 120);
+            float top = random.nextInt(SCREEN_HEIGHT - 120);
+            mFocusRects[i * 4] = left;
+            mFocusRects[i * 4 + 1] = top;
+            mFocusRects[i * 4 + 2] = left + 40 + random.nextInt(80);
+            mFocusRects[i * 4 + 3] = top + 40 + random.nextInt(80);
+            mLabels[i * 3] = i;
+            mLabels[i * 3 + 1] = 160 + random.nextInt(160);
+            mLabels[i * 3 + 2] = 48 + random.nextInt(48);
+        }
+        mOut = new float[labelCount * 3];
+    }
+
+    @Benchmark
+    public float[] place() {
+        mPlacer.place(SCREEN_WIDTH, SCREEN_HEIGHT, mFocusRects, mLabels, 8, mOut);
+        return mOut;
+    }
+}
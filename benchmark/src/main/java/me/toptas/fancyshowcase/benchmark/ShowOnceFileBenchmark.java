@@ -0,0 +1,166 @@
+package me.toptas.fancyshowcase.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import me.toptas.fancyshowcase.core.ShowOnceFile;
+
+/**
+ * Loading the show once flags and flagging one more id, with the binary {@link ShowOnceFile}
+ * against one boolean per id in a SharedPreferences XML file. SharedPreferences is an Android
+ * class, so its file handling is emulated: the whole map is parsed with a pull parser on load, and
+ * every change serializes the whole map to the file and syncs it, as SharedPreferencesImpl does.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowOnceFileBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int idCount;
+
+    private final XMLInputFactory mXmlFactory = XMLInputFactory.newInstance();
+    private File mXmlFile;
+    private File mBinaryFile;
+    private Map<String, Object> mXmlMap;
+    private ShowOnceFile mShowOnceFile;
+    private int mNextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        mXmlFile = File.createTempFile("PrefShowCaseView", ".xml");
+        mBinaryFile = File.createTempFile("PrefShowCaseView", ".bin");
+        mXmlMap = new HashMap<>();
+        mShowOnceFile = new ShowOnceFile(mBinaryFile);
+        for (int i = 0; i < idCount; i++) {
+            mXmlMap.put(id(i), Boolean.TRUE);
+            mShowOnceFile.add(ShowOnceFile.hash(id(i)));
+        }
+        mShowOnceFile.write();
+        writeXml(mXmlFile, mXmlMap);
+        mNextId = idCount;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        mXmlFile.delete();
+        mBinaryFile.delete();
+    }
+
+    /**
+     * First isShownBefore of a process with SharedPreferences, the whole file is parsed
+     */
+    @Benchmark
+    public Map<String, Object> loadXml() throws IOException, XMLStreamException {
+        return readXml(mXmlFile);
+    }
+
+    @Benchmark
+    public ShowOnceFile loadBinary() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mBinaryFile);
+        file.load();
+        return file;
+    }
+
+    /**
+     * A single lookup without loading the flags
+     */
+    @Benchmark
+    public boolean containsMapped() throws IOException {
+        return ShowOnceFile.containsMapped(mBinaryFile, ShowOnceFile.hash(id(idCount / 2)));
+    }
+
+    /**
+     * Flagging a new id, SharedPreferences rewrites the whole file
+     */
+    @Benchmark
+    public Map<String, Object> writeXml() throws IOException {
+        mXmlMap.put(id(mNextId++), Boolean.TRUE);
+        writeXml(mXmlFile, mXmlMap);
+        return mXmlMap;
+    }
+
+    /**
+     * Flagging a new id, appended to the file and folded into the table now and then
+     */
+    @Benchmark
+    public ShowOnceFile writeBinary() throws IOException {
+        mShowOnceFile.add(ShowOnceFile.hash(id(mNextId++)));
+        return mShowOnceFile;
+    }
+
+    private static String id(int i) {
+        return "feature_module_hint_" + i;
+    }
+
+    private static void writeXml(File file, Map<String, Object> map) throws IOException {
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            Writer out = new OutputStreamWriter(new BufferedOutputStream(stream), "UTF-8");
+            out.write("<?xml version='1.0' encoding='utf-8' standalone='yes' ?>\n<map>\n");
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                out.write("    <boolean name=\"");
+                out.write(entry.getKey());
+                out.write("\" value=\"");
+                out.write(String.valueOf(entry.getValue()));
+                out.write("\" />\n");
+            }
+            out.write("</map>\n");
+            out.flush();
+            stream.getFD().sync();
+        } finally {
+            stream.close();
+        }
+    }
+
+    private Map<String, Object> readXml(File file) throws IOException, XMLStreamException {
+        Map<String, Object> map = new HashMap<>();
+        BufferedInputStream in = new BufferedInputStream(new FileInputStream(file), 16 * 1024);
+        try {
+            XMLStreamReader reader = mXmlFactory.createXMLStreamReader(in, "UTF-8");
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && "boolean".equals(reader.getLocalName())) {
+                    map.put(reader.getAttributeValue(null, "name"),
+                            Boolean.valueOf(reader.getAttributeValue(null, "value")));
+                }
+            }
+            reader.close();
+        } finally {
+            in.close();
+        }
+        return map;
+    }
+}
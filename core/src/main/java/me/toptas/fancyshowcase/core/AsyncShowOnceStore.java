@@ -0,0 +1,248 @@
+package me.toptas.fancyshowcase.core;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Base of the persistent show once stores. The flags are kept in memory as id hashes and loaded on
+ * the given executor as soon as the subclass calls {@link #startLoading()}. Changes are applied to
+ * memory right away and written on the same executor, every change made until a write runs goes
+ * into that one write. Calls made before the flags are loaded wait for the load, callers that must
+ * not wait check {@link #isLoaded()} and continue {@link #whenLoaded(Runnable) when loaded}.
+ * <p>
+ * Passing an executor that runs tasks on the calling thread makes a store synchronous, e.g. in
+ * tests.
+ */
+
+public abstract class AsyncShowOnceStore implements ShowOnceStore {
+
+    private static Executor sBackgroundExecutor;
+
+    private final Executor mExecutor;
+    private final CountDownLatch mLoaded = new CountDownLatch(1);
+
+    // guarded by this
+    private final Set<Long> mShown = new HashSet<>();
+    private final Map<String, Boolean> mPending = new LinkedHashMap<>();
+    private boolean mPendingClear;
+    private boolean mWriteScheduled;
+
+    /**
+     * @param executor executor loading and writing the flags, tasks must run in order
+     */
+    protected AsyncShowOnceStore(Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * @return single daemon thread shared by the stores for their disk I/O
+     */
+    public static synchronized Executor backgroundExecutor() {
+        if (sBackgroundExecutor == null) {
+            sBackgroundExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "FancyShowCaseView-ShowOnce");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sBackgroundExecutor;
+    }
+
+    /**
+     * @param id show once id
+     * @return key of the id in memory
+     */
+    protected static long key(String id) {
+        return ShowOnceFile.hash(id);
+    }
+
+    /**
+     * Loads the flags on the executor, called once by the subclass when it is ready to load
+     */
+    protected final void startLoading() {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Set<Long> shown = new HashSet<>();
+                try {
+                    load(shown);
+                } catch (IOException e) {
+                    // treated as no flags, the next write replaces the broken data
+                    shown.clear();
+                } finally {
+                    synchronized (AsyncShowOnceStore.this) {
+                        mShown.addAll(shown);
+                    }
+                    mLoaded.countDown();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return true once the flags are loaded and calls no longer wait
+     */
+    public boolean isLoaded() {
+        return mLoaded.getCount() == 0;
+    }
+
+    /**
+     * Runs the callback once the flags are loaded: right away on the calling thread if they are,
+     * otherwise on the executor right after the load
+     *
+     * @param callback callback, e.g. posting back to the main thread
+     */
+    public void whenLoaded(Runnable callback) {
+        if (isLoaded()) {
+            callback.run();
+        } else {
+            // queued after the load, the executor runs tasks in order
+            mExecutor.execute(callback);
+        }
+    }
+
+    /**
+     * Reads the persisted flags, called on the executor
+     *
+     * @param shown receives the {@link #key(String) key} of every flagged id
+     */
+    protected abstract void load(Set<Long> shown) throws IOException;
+
+    /**
+     * Replaces the flags in memory with flags read again from the disk, e.g. after another process
+     * changed them. Changes not written yet are applied on top.
+     *
+     * @param shown {@link #key(String) key} of every flagged id on the disk
+     */
+    protected final void reload(Set<Long> shown) {
+        synchronized (this) {
+            if (mPendingClear) {
+                shown.clear();
+            }
+            for (Map.Entry<String, Boolean> entry : mPending.entrySet()) {
+                if (entry.getValue()) {
+                    shown.add(key(entry.getKey()));
+                } else {
+                    shown.remove(key(entry.getKey()));
+                }
+            }
+            mShown.clear();
+            mShown.addAll(shown);
+        }
+    }
+
+    /**
+     * Called before every lookup once the flags are loaded, on the calling thread. It must stay
+     * cheap when nothing changed, stores shared with other processes check the file state here and
+     * {@link #reload(Set) reload} only if another process changed it.
+     */
+    protected void refresh() {
+    }
+
+    /**
+     * Persists a batch of changes, called on the executor
+     *
+     * @param changes new flag of every changed id, in the order of the changes
+     * @param clear   true if all flags were reset before the changes
+     */
+    protected abstract void write(Map<String, Boolean> changes, boolean clear) throws IOException;
+
+    @Override
+    public boolean isShownBefore(String id) {
+        awaitLoaded();
+        refresh();
+        synchronized (this) {
+            return mShown.contains(key(id));
+        }
+    }
+
+    @Override
+    public void markShown(String id) {
+        awaitLoaded();
+        synchronized (this) {
+            if (mShown.add(key(id))) {
+                mPending.put(id, Boolean.TRUE);
+                scheduleWrite();
+            }
+        }
+    }
+
+    @Override
+    public void reset(String id) {
+        awaitLoaded();
+        synchronized (this) {
+            if (mShown.remove(key(id))) {
+                mPending.put(id, Boolean.FALSE);
+                scheduleWrite();
+            }
+        }
+    }
+
+    @Override
+    public void resetAll() {
+        awaitLoaded();
+        synchronized (this) {
+            mShown.clear();
+            mPending.clear();
+            mPendingClear = true;
+            scheduleWrite();
+        }
+    }
+
+    private void awaitLoaded() {
+        boolean interrupted = false;
+        while (mLoaded.getCount() > 0) {
+            try {
+                mLoaded.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Guarded by this
+     */
+    private void scheduleWrite() {
+        if (mWriteScheduled) {
+            return;
+        }
+        mWriteScheduled = true;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writePending();
+            }
+        });
+    }
+
+    private void writePending() {
+        Map<String, Boolean> changes;
+        boolean clear;
+        synchronized (this) {
+            changes = new LinkedHashMap<>(mPending);
+            clear = mPendingClear;
+            mPending.clear();
+            mPendingClear = false;
+            mWriteScheduled = false;
+        }
+        try {
+            write(changes, clear);
+        } catch (IOException e) {
+            // the changes stay in memory for the lifetime of the store
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package me.toptas.fancyshowcase.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Show once flags in a {@link ShowOnceFile}, so flagging an id appends a few bytes no matter how
+ * many ids are flagged
+ */
+
+public class FileShowOnceStore extends AsyncShowOnceStore {
+
+    private final ShowOnceFile mFile;
+
+    /**
+     * @param file file of the flags, loaded and written on the shared background thread
+     */
+    public FileShowOnceStore(File file) {
+        this(file, backgroundExecutor());
+    }
+
+    /**
+     * @param file     file of the flags
+     * @param executor executor loading and writing the file, tasks must run in order
+     */
+    public FileShowOnceStore(File file, Executor executor) {
+        super(executor);
+        mFile = new ShowOnceFile(file);
+        startLoading();
+    }
+
+    @Override
+    protected void load(Set<Long> shown) throws IOException {
+        try {
+            mFile.load();
+        } catch (IOException e) {
+            // starts over with an empty file instead of appending to a broken one
+            mFile.clear();
+            return;
+        }
+        for (int i = 0; i < mFile.size(); i++) {
+            shown.add(mFile.get(i));
+        }
+    }
+
+    @Override
+    protected void write(Map<String, Boolean> changes, boolean clear) throws IOException {
+        if (clear) {
+            mFile.clear();
+        }
+        for (Map.Entry<String, Boolean> entry : changes.entrySet()) {
+            if (entry.getValue()) {
+                mFile.add(key(entry.getKey()));
+            } else {
+                mFile.remove(key(entry.getKey()));
+            }
+        }
+    }
+}
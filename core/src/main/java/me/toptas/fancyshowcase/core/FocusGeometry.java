@@ -0,0 +1,132 @@
+package me.toptas.fancyshowcase.core;
+
+/**
+ * Geometric calculations for position, size and radius of focus areas, on primitive values only so
+ * they run on a plain JVM
+ */
+
+public final class FocusGeometry {
+
+    private FocusGeometry() {
+    }
+
+    /**
+     * @param start start coordinate of the view
+     * @param size  width or height of the view
+     * @return center coordinate of the view
+     */
+    public static int center(int start, int size) {
+        return start + size / 2;
+    }
+
+    /**
+     * @param width        view width
+     * @param height       view height
+     * @param radiusFactor radius factor of the circle
+     * @return radius of the circle surrounding the view
+     */
+    public static int viewRadius(int width, int height, double radiusFactor) {
+        return (int) ((int) (Math.hypot(width, height) / 2) * radiusFactor);
+    }
+
+    /**
+     * @param animCounter    counter of the focus animation
+     * @param animMoveFactor move factor of the focus animation (bigger value makes bigger animation)
+     * @return growth of the focus area in pixels
+     */
+    public static float animOffset(float animCounter, double animMoveFactor) {
+        return (float) (animCounter * animMoveFactor);
+    }
+
+    /**
+     * @param amplitude      maximum pulse offset
+     * @param animMoveFactor move factor of the focus animation
+     * @param borderSize     focus border stroke width
+     * @return how much a focus area's bounds must be grown to cover its pulse, border and anti
+     * aliasing
+     */
+    public static int pulseOutset(float amplitude, double animMoveFactor, int borderSize) {
+        return (int) Math.ceil(amplitude * animMoveFactor + borderSize / 2f) + 1;
+    }
+
+    /**
+     * @param radius  circle radius
+     * @param padding circle padding
+     * @param offset  animation offset
+     * @return radius of the focus circle
+     */
+    public static float circleRadius(int radius, int padding, float offset) {
+        return radius + padding + offset;
+    }
+
+    /**
+     * @param center  center coordinate of the rectangle
+     * @param size    width or height of the rectangle
+     * @param padding left or top padding
+     * @param offset  animation offset
+     * @return left or top position of the focus rectangle
+     */
+    public static float rectStart(int center, int size, int padding, float offset) {
+        return (float) (center - size / 2d - padding - offset);
+    }
+
+    /**
+     * @param center  center coordinate of the rectangle
+     * @param size    width or height of the rectangle
+     * @param padding right or bottom padding
+     * @param offset  animation offset
+     * @return right or bottom position of the focus rectangle
+     */
+    public static float rectEnd(int center, int size, int padding, float offset) {
+        return (float) (center + size / 2d + padding + offset);
+    }
+
+    /**
+     * Same as {@link #rectStart(int, int, int, float)} rounded the way integer focus rects are
+     */
+    public static int rectStart(int center, int size, int padding) {
+        return center - size / 2 - padding;
+    }
+
+    /**
+     * Same as {@link #rectEnd(int, int, int, float)} rounded the way integer focus rects are
+     */
+    public static int rectEnd(int center, int size, int padding) {
+        return center + size / 2 + padding;
+    }
+
+    /**
+     * @return true if the point is inside of the circle
+     */
+    public static boolean circleContains(float centerX, float centerY, float radius, float x, float y) {
+        float dx = x - centerX;
+        float dy = y - centerY;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    /**
+     * @return true if the point is inside of the rounded rectangle, corners excluded
+     */
+    public static boolean roundRectContains(float left, float top, float right, float bottom,
+                                            float cornerRadius, float x, float y) {
+        if (x < left || x > right || y < top || y > bottom) {
+            return false;
+        }
+        float r = Math.min(cornerRadius, Math.min((right - left) / 2, (bottom - top) / 2));
+        if (r <= 0) {
+            return true;
+        }
+        // nearest corner center, a point between the corner centers is inside anyway
+        float cx = x < left + r ? left + r : x > right - r ? right - r : x;
+        float cy = y < top + r ? top + r : y > bottom - r ? bottom - r : y;
+        return circleContains(cx, cy, r, x, y);
+    }
+
+    /**
+     * @return true if the two rectangles overlap
+     */
+    public static boolean intersects(float left1, float top1, float right1, float bottom1,
+                                     float left2, float top2, float right2, float bottom2) {
+        return left1 < right2 && left2 < right1 && top1 < bottom2 && top2 < bottom1;
+    }
+}
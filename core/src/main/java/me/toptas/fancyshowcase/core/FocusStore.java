@@ -0,0 +1,360 @@
+package me.toptas.fancyshowcase.core;
+
+import java.util.Arrays;
+
+/**
+ * Packed store of focus areas for tours with hundreds of highlights. Every value lives in a
+ * parallel primitive array indexed by the focus area, so renderers walk contiguous memory without
+ * dereferencing one object per area and without boxing. The padded geometry is derived whenever a
+ * value changes, the per frame accessors only add the pulse offset to it.
+ */
+
+public class FocusStore {
+
+    private static final int FLAG_CIRCLE = 1;
+    private static final int FLAG_NO_HOLE = 1 << 1;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int mSize;
+
+    private int[] mFlags;
+    private int[] mCenterX;
+    private int[] mCenterY;
+    private int[] mWidth;
+    private int[] mHeight;
+    private int[] mPaddingLeft;
+    private int[] mPaddingTop;
+    private int[] mPaddingRight;
+    private int[] mPaddingBottom;
+    private int[] mCircleRadius;
+    private int[] mCirclePadding;
+    private int[] mCornerRadius;
+    private int[] mBorderColor;
+    private int[] mBorderSize;
+    private int[] mFeather;
+
+    // padded geometry derived from the values above
+    private float[] mLeft;
+    private float[] mTop;
+    private float[] mRight;
+    private float[] mBottom;
+    private float[] mRadius;
+    // bounds of any shape including the soft edge
+    private float[] mBoundsLeft;
+    private float[] mBoundsTop;
+    private float[] mBoundsRight;
+    private float[] mBoundsBottom;
+
+    public FocusStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public FocusStore(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    private void allocate(int capacity) {
+        mFlags = grow(mFlags, capacity);
+        mCenterX = grow(mCenterX, capacity);
+        mCenterY = grow(mCenterY, capacity);
+        mWidth = grow(mWidth, capacity);
+        mHeight = grow(mHeight, capacity);
+        mPaddingLeft = grow(mPaddingLeft, capacity);
+        mPaddingTop = grow(mPaddingTop, capacity);
+        mPaddingRight = grow(mPaddingRight, capacity);
+        mPaddingBottom = grow(mPaddingBottom, capacity);
+        mCircleRadius = grow(mCircleRadius, capacity);
+        mCirclePadding = grow(mCirclePadding, capacity);
+        mCornerRadius = grow(mCornerRadius, capacity);
+        mBorderColor = grow(mBorderColor, capacity);
+        mBorderSize = grow(mBorderSize, capacity);
+        mFeather = grow(mFeather, capacity);
+        mLeft = grow(mLeft, capacity);
+        mTop = grow(mTop, capacity);
+        mRight = grow(mRight, capacity);
+        mBottom = grow(mBottom, capacity);
+        mRadius = grow(mRadius, capacity);
+        mBoundsLeft = grow(mBoundsLeft, capacity);
+        mBoundsTop = grow(mBoundsTop, capacity);
+        mBoundsRight = grow(mBoundsRight, capacity);
+        mBoundsBottom = grow(mBoundsBottom, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static float[] grow(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     * @return number of focus areas
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Appends a rounded rectangle focus area with all values zero, set them with the setters
+     *
+     * @return index of the new focus area
+     */
+    public int add() {
+        if (mSize == mFlags.length) {
+            allocate(mSize * 2);
+        }
+        int index = mSize++;
+        mFlags[index] = 0;
+        mCenterX[index] = 0;
+        mCenterY[index] = 0;
+        mWidth[index] = 0;
+        mHeight[index] = 0;
+        mPaddingLeft[index] = 0;
+        mPaddingTop[index] = 0;
+        mPaddingRight[index] = 0;
+        mPaddingBottom[index] = 0;
+        mCircleRadius[index] = 0;
+        mCirclePadding[index] = 0;
+        mCornerRadius[index] = 0;
+        mBorderColor[index] = 0;
+        mBorderSize[index] = 0;
+        mFeather[index] = 0;
+        compile(index);
+        return index;
+    }
+
+    /**
+     * Removes all focus areas, keeps the arrays
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    public void setShape(int index, boolean circle, boolean hole) {
+        mFlags[index] = (circle ? FLAG_CIRCLE : 0) | (hole ? 0 : FLAG_NO_HOLE);
+        compile(index);
+    }
+
+    public void setCenter(int index, int centerX, int centerY) {
+        mCenterX[index] = centerX;
+        mCenterY[index] = centerY;
+        compile(index);
+    }
+
+    public void setRect(int index, int width, int height, int cornerRadius) {
+        mWidth[index] = width;
+        mHeight[index] = height;
+        mCornerRadius[index] = cornerRadius;
+        compile(index);
+    }
+
+    public void setRectPadding(int index, int left, int top, int right, int bottom) {
+        mPaddingLeft[index] = left;
+        mPaddingTop[index] = top;
+        mPaddingRight[index] = right;
+        mPaddingBottom[index] = bottom;
+        compile(index);
+    }
+
+    public void setCircle(int index, int radius, int padding) {
+        mCircleRadius[index] = radius;
+        mCirclePadding[index] = padding;
+        compile(index);
+    }
+
+    public void setBorder(int index, int color, int size) {
+        mBorderColor[index] = color;
+        mBorderSize[index] = size;
+    }
+
+    public void setFeather(int index, int feather) {
+        mFeather[index] = feather;
+        compile(index);
+    }
+
+    private void compile(int i) {
+        mRadius[i] = FocusGeometry.circleRadius(mCircleRadius[i], mCirclePadding[i], 0);
+        mLeft[i] = FocusGeometry.rectStart(mCenterX[i], mWidth[i], mPaddingLeft[i], 0);
+        mTop[i] = FocusGeometry.rectStart(mCenterY[i], mHeight[i], mPaddingTop[i], 0);
+        mRight[i] = FocusGeometry.rectEnd(mCenterX[i], mWidth[i], mPaddingRight[i], 0);
+        mBottom[i] = FocusGeometry.rectEnd(mCenterY[i], mHeight[i], mPaddingBottom[i], 0);
+        if (isCircle(i)) {
+            float outer = mRadius[i] + feather(i);
+            mBoundsLeft[i] = mCenterX[i] - outer;
+            mBoundsTop[i] = mCenterY[i] - outer;
+            mBoundsRight[i] = mCenterX[i] + outer;
+            mBoundsBottom[i] = mCenterY[i] + outer;
+        } else {
+            mBoundsLeft[i] = mLeft[i];
+            mBoundsTop[i] = mTop[i];
+            mBoundsRight[i] = mRight[i];
+            mBoundsBottom[i] = mBottom[i];
+        }
+    }
+
+    public boolean isCircle(int index) {
+        return (mFlags[index] & FLAG_CIRCLE) != 0;
+    }
+
+    public boolean hasHole(int index) {
+        return (mFlags[index] & FLAG_NO_HOLE) == 0;
+    }
+
+    public int centerX(int index) {
+        return mCenterX[index];
+    }
+
+    public int centerY(int index) {
+        return mCenterY[index];
+    }
+
+    public int width(int index) {
+        return mWidth[index];
+    }
+
+    public int height(int index) {
+        return mHeight[index];
+    }
+
+    public int paddingLeft(int index) {
+        return mPaddingLeft[index];
+    }
+
+    public int paddingTop(int index) {
+        return mPaddingTop[index];
+    }
+
+    public int paddingRight(int index) {
+        return mPaddingRight[index];
+    }
+
+    public int paddingBottom(int index) {
+        return mPaddingBottom[index];
+    }
+
+    public int circleRadius(int index) {
+        return mCircleRadius[index];
+    }
+
+    public int circlePadding(int index) {
+        return mCirclePadding[index];
+    }
+
+    public int cornerRadius(int index) {
+        return mCornerRadius[index];
+    }
+
+    public int borderColor(int index) {
+        return mBorderColor[index];
+    }
+
+    public int borderSize(int index) {
+        return mBorderSize[index];
+    }
+
+    /**
+     * @return soft edge width of a circle, always 0 for a rounded rectangle
+     */
+    public int feather(int index) {
+        return isCircle(index) && mFeather[index] > 0 ? mFeather[index] : 0;
+    }
+
+    /**
+     * @return feather width as set, regardless of the shape
+     */
+    public int featherWidth(int index) {
+        return mFeather[index];
+    }
+
+    /**
+     * @param offset pulse offset in pixels
+     * @return padded radius of the focus circle
+     */
+    public float radius(int index, float offset) {
+        return mRadius[index] + offset;
+    }
+
+    /**
+     * Padded rounded rectangle edges, see {@link #boundsLeft(int, float)} for the bounds of any shape
+     */
+    public float rectLeft(int index, float offset) {
+        return mLeft[index] - offset;
+    }
+
+    public float rectTop(int index, float offset) {
+        return mTop[index] - offset;
+    }
+
+    public float rectRight(int index, float offset) {
+        return mRight[index] + offset;
+    }
+
+    public float rectBottom(int index, float offset) {
+        return mBottom[index] + offset;
+    }
+
+    /**
+     * Bounds of the focus area including the soft edge, whatever its shape
+     */
+    public float boundsLeft(int index, float offset) {
+        return mBoundsLeft[index] - offset;
+    }
+
+    public float boundsTop(int index, float offset) {
+        return mBoundsTop[index] - offset;
+    }
+
+    public float boundsRight(int index, float offset) {
+        return mBoundsRight[index] + offset;
+    }
+
+    public float boundsBottom(int index, float offset) {
+        return mBoundsBottom[index] + offset;
+    }
+
+    /**
+     * @param offset pulse offset in pixels
+     * @return true if the point hits the focus area, its soft edge excluded
+     */
+    public boolean contains(int index, float x, float y, float offset) {
+        if (isCircle(index)) {
+            return FocusGeometry.circleContains(mCenterX[index], mCenterY[index], radius(index, offset), x, y);
+        }
+        return FocusGeometry.roundRectContains(rectLeft(index, offset), rectTop(index, offset),
+                rectRight(index, offset), rectBottom(index, offset), mCornerRadius[index], x, y);
+    }
+
+    /**
+     * @param offset pulse offset in pixels
+     * @param outset extra margin around the bounds, e.g. half of the border width
+     * @return true if the bounds of the focus area overlap the given rectangle
+     */
+    public boolean intersects(int index, float l, float t, float r, float b, float offset, float outset) {
+        float grow = offset + outset;
+        return FocusGeometry.intersects(mBoundsLeft[index] - grow, mBoundsTop[index] - grow,
+                mBoundsRight[index] + grow, mBoundsBottom[index] + grow, l, t, r, b);
+    }
+
+    /**
+     * Integer bounds of the padded focus area without pulse and soft edge, the same as
+     * FocusDescriptor.getFocusAreaRect()
+     *
+     * @param out receives left, top, right and bottom
+     */
+    public void areaBounds(int index, int[] out) {
+        if (isCircle(index)) {
+            int radius = mCircleRadius[index] + mCirclePadding[index];
+            out[0] = mCenterX[index] - radius;
+            out[1] = mCenterY[index] - radius;
+            out[2] = mCenterX[index] + radius;
+            out[3] = mCenterY[index] + radius;
+        } else {
+            out[0] = FocusGeometry.rectStart(mCenterX[index], mWidth[index], mPaddingLeft[index]);
+            out[1] = FocusGeometry.rectStart(mCenterY[index], mHeight[index], mPaddingTop[index]);
+            out[2] = FocusGeometry.rectEnd(mCenterX[index], mWidth[index], mPaddingRight[index]);
+            out[3] = FocusGeometry.rectEnd(mCenterY[index], mHeight[index], mPaddingBottom[index]);
+        }
+    }
+}
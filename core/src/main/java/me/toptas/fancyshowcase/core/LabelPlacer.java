@@ -0,0 +1,120 @@
+package me.toptas.fancyshowcase.core;
+
+/**
+ * Places a label next to each focus area so that labels overlap neither the focus areas nor each
+ * other and stay on the screen where possible. For every label the sides below, above, right and
+ * left of its focus area are tried, each aligned to the focus area center and shifted back onto the
+ * screen. The side covering the least area of focus areas, placed labels and off screen space
+ * wins, the first side covering nothing is taken right away. Overlaps are looked up in a
+ * {@link SpatialGrid}, so placing a label only visits the rectangles around it.
+ */
+
+public class LabelPlacer {
+
+    public static final int SIDE_BELOW = 0;
+    public static final int SIDE_ABOVE = 1;
+    public static final int SIDE_RIGHT = 2;
+    public static final int SIDE_LEFT = 3;
+
+    private static final int SIDE_COUNT = 4;
+    private static final int CELL_SIZE = 128;
+
+    private final SpatialGrid mGrid = new SpatialGrid();
+    private final float[] mCandidate = new float[4];
+
+    /**
+     * @param width      screen width
+     * @param height     screen height
+     * @param focusRects left, top, right and bottom of every focus area, including the ones
+     *                   without a label
+     * @param labels     focus area index, width and height of every label, 3 values each
+     * @param gap        distance between a focus area and its label
+     * @param outLabels  receives left, top and side of every label, 3 values each
+     */
+    public void place(int width, int height, float[] focusRects, float[] labels, float gap, float[] outLabels) {
+        mGrid.reset(width, height, CELL_SIZE);
+        for (int i = 0; i + 3 < focusRects.length; i += 4) {
+            mGrid.add(focusRects[i], focusRects[i + 1], focusRects[i + 2], focusRects[i + 3]);
+        }
+
+        float[] candidate = mCandidate;
+        for (int i = 0; i + 2 < labels.length; i += 3) {
+            int focus = (int) labels[i] * 4;
+            float labelWidth = labels[i + 1];
+            float labelHeight = labels[i + 2];
+
+            float bestCost = Float.MAX_VALUE;
+            float bestLeft = 0;
+            float bestTop = 0;
+            int bestSide = SIDE_BELOW;
+            for (int side = 0; side < SIDE_COUNT; side++) {
+                candidate(side, focusRects[focus], focusRects[focus + 1], focusRects[focus + 2],
+                        focusRects[focus + 3], labelWidth, labelHeight, gap, width, height, candidate);
+                float cost = offScreenArea(candidate, width, height)
+                        + mGrid.overlapArea(candidate[0], candidate[1], candidate[2], candidate[3]);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestLeft = candidate[0];
+                    bestTop = candidate[1];
+                    bestSide = side;
+                    if (cost == 0) {
+                        break;
+                    }
+                }
+            }
+
+            outLabels[i] = bestLeft;
+            outLabels[i + 1] = bestTop;
+            outLabels[i + 2] = bestSide;
+            mGrid.add(bestLeft, bestTop, bestLeft + labelWidth, bestTop + labelHeight);
+        }
+    }
+
+    /**
+     * Computes the label bounds on the given side of the focus area, slid along that side to stay
+     * on the screen
+     */
+    private static void candidate(int side, float left, float top, float right, float bottom,
+                                  float labelWidth, float labelHeight, float gap, int width, int height,
+                                  float[] out) {
+        float x;
+        float y;
+        switch (side) {
+            case SIDE_BELOW:
+                x = slide((left + right - labelWidth) / 2, labelWidth, width);
+                y = bottom + gap;
+                break;
+            case SIDE_ABOVE:
+                x = slide((left + right - labelWidth) / 2, labelWidth, width);
+                y = top - gap - labelHeight;
+                break;
+            case SIDE_RIGHT:
+                x = right + gap;
+                y = slide((top + bottom - labelHeight) / 2, labelHeight, height);
+                break;
+            default:
+                x = left - gap - labelWidth;
+                y = slide((top + bottom - labelHeight) / 2, labelHeight, height);
+                break;
+        }
+        out[0] = x;
+        out[1] = y;
+        out[2] = x + labelWidth;
+        out[3] = y + labelHeight;
+    }
+
+    private static float slide(float start, float size, int limit) {
+        if (start + size > limit) {
+            start = limit - size;
+        }
+        return start < 0 ? 0 : start;
+    }
+
+    private static float offScreenArea(float[] rect, int width, int height) {
+        float w = rect[2] - rect[0];
+        float h = rect[3] - rect[1];
+        float visibleWidth = Math.max(0, Math.min(rect[2], width) - Math.max(rect[0], 0));
+        float visibleHeight = Math.max(0, Math.min(rect[3], height) - Math.max(rect[1], 0));
+        return w * h - visibleWidth * visibleHeight;
+    }
+}
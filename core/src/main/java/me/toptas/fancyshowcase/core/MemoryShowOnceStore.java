@@ -0,0 +1,34 @@
+package me.toptas.fancyshowcase.core;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Show once flags that live as long as the store, e.g. for tests or for hints shown once per
+ * process
+ */
+
+public class MemoryShowOnceStore implements ShowOnceStore {
+
+    private final Set<String> mShown = new HashSet<>();
+
+    @Override
+    public synchronized boolean isShownBefore(String id) {
+        return mShown.contains(id);
+    }
+
+    @Override
+    public synchronized void markShown(String id) {
+        mShown.add(id);
+    }
+
+    @Override
+    public synchronized void reset(String id) {
+        mShown.remove(id);
+    }
+
+    @Override
+    public synchronized void resetAll() {
+        mShown.clear();
+    }
+}
@@ -0,0 +1,153 @@
+package me.toptas.fancyshowcase.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Show once flags in a {@link ShowOnceFile} shared by several processes of an app. Writes hold an
+ * exclusive lock on a lock file next to the flags, read the latest flags and apply this process'
+ * changes on top, so no process overwrites the flags of another. Every lookup compares the size
+ * and modification time of the file with the ones seen last, which costs a stat and no read. Only
+ * if another process changed the file, the lookup reads it again under a shared lock before it
+ * answers, so a flag another process has written is seen by the very next lookup.
+ * <pre>
+ * FancyShowCaseView.setDefaultShowOnceStore(new MultiProcessShowOnceStore(
+ *         new File(context.getFilesDir(), "fancyshowcase_show_once")));
+ * </pre>
+ * Every process must use a single store per file. Modification times are only as precise as the
+ * file system, a change that keeps the file size within that time is picked up with the next one.
+ */
+
+public class MultiProcessShowOnceStore extends AsyncShowOnceStore {
+
+    private final File mLockFile;
+    private final ShowOnceFile mFile;
+    private final File mDataFile;
+
+    // file locks are held per process, this keeps the threads of this process from overlapping
+    private final Object mLock = new Object();
+
+    // size and modification time of the file as last read or written by this process
+    private volatile long mSeenLength = -1;
+    private volatile long mSeenModified = -1;
+
+    /**
+     * @param file file of the flags, loaded and written on the shared background thread
+     */
+    public MultiProcessShowOnceStore(File file) {
+        this(file, backgroundExecutor());
+    }
+
+    /**
+     * @param file     file of the flags
+     * @param executor executor loading and writing the file, tasks must run in order
+     */
+    public MultiProcessShowOnceStore(File file, Executor executor) {
+        super(executor);
+        mDataFile = file;
+        mLockFile = new File(file.getPath() + ".lock");
+        mFile = new ShowOnceFile(file);
+        startLoading();
+    }
+
+    @Override
+    protected void load(Set<Long> shown) throws IOException {
+        synchronized (mLock) {
+            RandomAccessFile lockFile = new RandomAccessFile(mLockFile, "rw");
+            try {
+                FileLock lock = lockFile.getChannel().lock(0, Long.MAX_VALUE, true);
+                try {
+                    loadLocked(shown);
+                } finally {
+                    lock.release();
+                }
+            } finally {
+                lockFile.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the flags again if another process changed the file. The reload runs on the calling
+     * thread, the lookup has to wait for it anyway and the executor may be busy with writes.
+     */
+    @Override
+    protected void refresh() {
+        if (mDataFile.length() == mSeenLength && mDataFile.lastModified() == mSeenModified) {
+            return;
+        }
+        Set<Long> shown = new HashSet<>();
+        try {
+            load(shown);
+        } catch (IOException e) {
+            // keeps the flags in memory, the file is checked again by the next lookup
+            return;
+        }
+        reload(shown);
+    }
+
+    @Override
+    protected void write(Map<String, Boolean> changes, boolean clear) throws IOException {
+        Set<Long> shown = new HashSet<>();
+        synchronized (mLock) {
+            RandomAccessFile lockFile = new RandomAccessFile(mLockFile, "rw");
+            try {
+                FileLock lock = lockFile.getChannel().lock();
+                try {
+                    // flags written by other processes since the last read are kept
+                    try {
+                        mFile.load();
+                    } catch (IOException e) {
+                        // starts over with an empty file instead of appending to a broken one
+                        mFile.clear();
+                    }
+                    if (clear) {
+                        mFile.clear();
+                    }
+                    for (Map.Entry<String, Boolean> entry : changes.entrySet()) {
+                        if (entry.getValue()) {
+                            mFile.add(key(entry.getKey()));
+                        } else {
+                            mFile.remove(key(entry.getKey()));
+                        }
+                    }
+                    collect(shown);
+                } finally {
+                    lock.release();
+                }
+            } finally {
+                lockFile.close();
+            }
+        }
+        reload(shown);
+    }
+
+    /**
+     * Guarded by the file lock
+     */
+    private void loadLocked(Set<Long> shown) {
+        try {
+            mFile.load();
+        } catch (IOException e) {
+            // a broken file is read as no flags, the next write replaces it
+        }
+        collect(shown);
+    }
+
+    /**
+     * Adds the flags of the file to the given set and remembers the file state they belong to
+     */
+    private void collect(Set<Long> shown) {
+        for (int i = 0; i < mFile.size(); i++) {
+            shown.add(mFile.get(i));
+        }
+        mSeenLength = mDataFile.length();
+        mSeenModified = mDataFile.lastModified();
+    }
+}
@@ -0,0 +1,324 @@
+package me.toptas.fancyshowcase.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Compact binary file of show once flags. Every shown id is stored as its 64 bit hash: a header, a
+ * sorted table of hashes and an unsorted tail of hashes appended since the table was written.
+ * <ul>
+ * <li>Flagging an id appends 8 bytes, independent of the number of flags. A torn append is
+ * ignored on the next load.</li>
+ * <li>Removing ids or folding a long tail into the table writes a new file next to the old one
+ * and renames it over the old one, so readers see either file completely.</li>
+ * <li>Loading reads the file once and merges the tail into a sorted array, lookups are binary
+ * searches. {@link #containsMapped(File, long)} answers a single lookup from a memory mapped file
+ * without loading it.</li>
+ * </ul>
+ * With 64 bit hashes two of 50000 ids collide with a probability below 10^-9.
+ */
+
+public class ShowOnceFile {
+
+    private static final int MAGIC = 0x4653434f; // FSCO
+    private static final int VERSION = 1;
+    // magic, version, table size
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * The tail is folded into the table once it is longer than this and than an eighth of the table
+     */
+    private static final int MIN_COMPACT_TAIL = 64;
+
+    private final File mFile;
+
+    private long[] mHashes = new long[0];
+    private int mSize;
+    private int mTailSize;
+
+    // table size and number of whole hashes of the file as last loaded or written, -1 if neither
+    private int mFileTableSize = -1;
+    private int mFileCount = -1;
+
+    /**
+     * @param file file of the flags, created on the first write
+     */
+    public ShowOnceFile(File file) {
+        mFile = file;
+    }
+
+    /**
+     * @param id show once id
+     * @return 64 bit FNV-1a hash of the id
+     */
+    public static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            hash = (hash ^ (c & 0xff)) * 0x100000001b3L;
+            hash = (hash ^ (c >>> 8)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Replaces the flags in memory with the ones in the file, none if there is no file
+     *
+     * @throws IOException if the file cannot be read or is not a show once file
+     */
+    public void load() throws IOException {
+        mSize = 0;
+        mTailSize = 0;
+        mFileTableSize = 0;
+        mFileCount = 0;
+        if (!mFile.exists()) {
+            return;
+        }
+        RandomAccessFile in = new RandomAccessFile(mFile, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read all
+            }
+            buffer.flip();
+            int tableSize = readHeader(buffer);
+            LongBuffer longs = buffer.asLongBuffer();
+            int count = longs.remaining();
+            if (count < tableSize) {
+                throw new IOException("Truncated show once file " + mFile);
+            }
+            if (mHashes.length < count) {
+                mHashes = new long[count];
+            }
+            longs.get(mHashes, 0, count);
+            mTailSize = count - tableSize;
+            mFileTableSize = tableSize;
+            mFileCount = count;
+            if (mTailSize > 0) {
+                Arrays.sort(mHashes, 0, count);
+            }
+            mSize = dedupe(mHashes, count);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @param hash hash of a show once id
+     * @return true if the id is flagged
+     */
+    public boolean contains(long hash) {
+        return Arrays.binarySearch(mHashes, 0, mSize, hash) >= 0;
+    }
+
+    /**
+     * @return number of flagged ids
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @param index index of a flag, smaller than {@link #size()}
+     * @return hash of the flagged id, in ascending order of the hashes
+     */
+    public long get(int index) {
+        return mHashes[index];
+    }
+
+    /**
+     * Flags an id in memory and appends it to the file. An existing file must have been
+     * {@link #load() loaded} or written by this instance and not changed since.
+     *
+     * @param hash hash of a show once id
+     * @throws IOException if the file cannot be written, is not a show once file or was changed
+     *                     since this instance last loaded or wrote it
+     */
+    public void add(long hash) throws IOException {
+        int index = Arrays.binarySearch(mHashes, 0, mSize, hash);
+        if (index >= 0) {
+            return;
+        }
+        insert(-index - 1, hash);
+        // a file shorter than the header is left by a failed create and is replaced like a missing one
+        if (mFile.length() < HEADER_SIZE || mTailSize >= MIN_COMPACT_TAIL && mTailSize > mSize / 8) {
+            write();
+            return;
+        }
+        RandomAccessFile out = new RandomAccessFile(mFile, "rw");
+        try {
+            FileChannel channel = out.getChannel();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read the header
+            }
+            header.flip();
+            int tableSize = readHeader(header);
+            // drops a torn append, the file ends at a whole hash
+            long count = (channel.size() - HEADER_SIZE) / 8;
+            if (tableSize != mFileTableSize || count != mFileCount) {
+                throw new IOException("Show once file " + mFile + " changed since it was loaded");
+            }
+            long end = HEADER_SIZE + count * 8;
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.putLong(hash).flip();
+            while (buffer.hasRemaining()) {
+                end += channel.write(buffer, end);
+            }
+            channel.force(false);
+        } finally {
+            out.close();
+        }
+        mTailSize++;
+        mFileCount++;
+    }
+
+    /**
+     * Removes a flag and rewrites the file
+     *
+     * @param hash hash of a show once id
+     * @throws IOException if the file cannot be written
+     */
+    public void remove(long hash) throws IOException {
+        int index = Arrays.binarySearch(mHashes, 0, mSize, hash);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(mHashes, index + 1, mHashes, index, mSize - index - 1);
+        mSize--;
+        write();
+    }
+
+    /**
+     * Removes all flags and rewrites the file
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void clear() throws IOException {
+        mSize = 0;
+        write();
+    }
+
+    /**
+     * Writes the flags in memory as a new sorted table and swaps it in for the file. Flags that
+     * are only in the file are lost, unless it was {@link #load() loaded} first.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void write() throws IOException {
+        File temp = new File(mFile.getPath() + ".tmp");
+        FileOutputStream stream = new FileOutputStream(temp);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(mSize);
+            for (int i = 0; i < mSize; i++) {
+                out.writeLong(mHashes[i]);
+            }
+            out.flush();
+            stream.getFD().sync();
+        } finally {
+            stream.close();
+        }
+        if (!temp.renameTo(mFile)) {
+            temp.delete();
+            throw new IOException("Cannot replace show once file " + mFile);
+        }
+        mTailSize = 0;
+        mFileTableSize = mSize;
+        mFileCount = mSize;
+    }
+
+    /**
+     * Looks up a single id in the file without loading it. The sorted table is binary searched in
+     * place and only the tail is scanned.
+     *
+     * @param file show once file
+     * @param hash hash of a show once id
+     * @return true if the id is flagged in the file
+     * @throws IOException if the file cannot be read or is not a show once file
+     */
+    public static boolean containsMapped(File file, long hash) throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int tableSize = readHeader(buffer);
+            LongBuffer longs = buffer.asLongBuffer();
+            int low = 0;
+            int high = Math.min(tableSize, longs.limit()) - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = longs.get(mid);
+                if (value < hash) {
+                    low = mid + 1;
+                } else if (value > hash) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            for (int i = tableSize; i < longs.limit(); i++) {
+                if (longs.get(i) == hash) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return size of the sorted table, the buffer is positioned after the header
+     */
+    private static int readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a show once file");
+        }
+        int tableSize = buffer.getInt();
+        if (tableSize < 0) {
+            throw new IOException("Not a show once file");
+        }
+        return tableSize;
+    }
+
+    private void insert(int index, long hash) {
+        if (mSize == mHashes.length) {
+            mHashes = Arrays.copyOf(mHashes, Math.max(16, mSize * 2));
+        }
+        System.arraycopy(mHashes, index, mHashes, index + 1, mSize - index);
+        mHashes[index] = hash;
+        mSize++;
+    }
+
+    /**
+     * @return number of distinct values at the start of the sorted array
+     */
+    private static int dedupe(long[] sorted, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int size = 1;
+        for (int i = 1; i < count; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size;
+    }
+}
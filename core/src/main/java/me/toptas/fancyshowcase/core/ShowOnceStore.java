@@ -0,0 +1,35 @@
+package me.toptas.fancyshowcase.core;
+
+/**
+ * Persistent show once flags, one per overlay id. Lookups are answered from memory; how and when
+ * changes reach the disk is up to the implementation, but no method may block on disk I/O once
+ * the flags are loaded.
+ */
+
+public interface ShowOnceStore {
+
+    /**
+     * @param id show once id
+     * @return true if the overlay with the given id was shown before
+     */
+    boolean isShownBefore(String id);
+
+    /**
+     * Flags the overlay with the given id as shown
+     *
+     * @param id show once id
+     */
+    void markShown(String id);
+
+    /**
+     * Resets the show once flag
+     *
+     * @param id id of the show once flag that should be reset
+     */
+    void reset(String id);
+
+    /**
+     * Resets all show once flags
+     */
+    void resetAll();
+}
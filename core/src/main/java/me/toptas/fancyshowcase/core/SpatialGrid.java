@@ -0,0 +1,121 @@
+package me.toptas.fancyshowcase.core;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the screen indexing rectangles by the cells they cover, so an overlap query
+ * only visits the rectangles near the queried one. Storage is reused between
+ * {@link #reset(int, int, int)} calls.
+ */
+
+class SpatialGrid {
+
+    private int mCellSize;
+    private int mColumns;
+    private int mRows;
+
+    // rectangle ids per cell
+    private int[][] mCells = new int[0][];
+    private int[] mCellCounts = new int[0];
+
+    // rectangles by id, 4 values each
+    private float[] mRects = new float[0];
+    private int mSize;
+
+    // query stamp per rectangle, so a rectangle covering several cells is visited once
+    private int[] mStamps = new int[0];
+    private int mStamp;
+
+    /**
+     * Removes all rectangles and sizes the grid to the given bounds
+     */
+    void reset(int width, int height, int cellSize) {
+        mCellSize = Math.max(cellSize, 1);
+        mColumns = Math.max(1, (width + mCellSize - 1) / mCellSize);
+        mRows = Math.max(1, (height + mCellSize - 1) / mCellSize);
+        int cells = mColumns * mRows;
+        if (mCells.length < cells) {
+            mCells = Arrays.copyOf(mCells, cells);
+            mCellCounts = new int[cells];
+        } else {
+            Arrays.fill(mCellCounts, 0);
+        }
+        mSize = 0;
+    }
+
+    /**
+     * @return id of the added rectangle
+     */
+    int add(float left, float top, float right, float bottom) {
+        int id = mSize++;
+        if (mRects.length < mSize * 4) {
+            mRects = Arrays.copyOf(mRects, Math.max(mSize * 8, 32));
+            mStamps = Arrays.copyOf(mStamps, mRects.length / 4);
+        }
+        mRects[id * 4] = left;
+        mRects[id * 4 + 1] = top;
+        mRects[id * 4 + 2] = right;
+        mRects[id * 4 + 3] = bottom;
+        mStamps[id] = 0;
+
+        int lastColumn = column(right);
+        int lastRow = row(bottom);
+        for (int r = row(top); r <= lastRow; r++) {
+            for (int c = column(left); c <= lastColumn; c++) {
+                int cell = r * mColumns + c;
+                int[] ids = mCells[cell];
+                if (ids == null) {
+                    ids = mCells[cell] = new int[4];
+                } else if (mCellCounts[cell] == ids.length) {
+                    ids = mCells[cell] = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[mCellCounts[cell]++] = id;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * @return total area of the indexed rectangles overlapping the given one
+     */
+    float overlapArea(float left, float top, float right, float bottom) {
+        if (++mStamp == Integer.MAX_VALUE) {
+            Arrays.fill(mStamps, 0);
+            mStamp = 1;
+        }
+        float area = 0;
+        int lastColumn = column(right);
+        int lastRow = row(bottom);
+        for (int r = row(top); r <= lastRow; r++) {
+            for (int c = column(left); c <= lastColumn; c++) {
+                int cell = r * mColumns + c;
+                int[] ids = mCells[cell];
+                for (int i = 0; i < mCellCounts[cell]; i++) {
+                    int id = ids[i];
+                    if (mStamps[id] == mStamp) {
+                        continue;
+                    }
+                    mStamps[id] = mStamp;
+                    float w = Math.min(right, mRects[id * 4 + 2]) - Math.max(left, mRects[id * 4]);
+                    float h = Math.min(bottom, mRects[id * 4 + 3]) - Math.max(top, mRects[id * 4 + 1]);
+                    if (w > 0 && h > 0) {
+                        area += w * h;
+                    }
+                }
+            }
+        }
+        return area;
+    }
+
+    private int column(float x) {
+        return clamp((int) (x / mCellSize), mColumns);
+    }
+
+    private int row(float y) {
+        return clamp((int) (y / mCellSize), mRows);
+    }
+
+    private static int clamp(int index, int count) {
+        return index < 0 ? 0 : index >= count ? count - 1 : index;
+    }
+}
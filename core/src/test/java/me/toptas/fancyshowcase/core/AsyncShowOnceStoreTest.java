@@ -0,0 +1,205 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncShowOnceStoreTest {
+
+    @Test
+    public void loadedFlagsAreAnsweredFromMemory() {
+        RecordingStore store = new RecordingStore(new DirectExecutor(), "intro", "menu");
+        assertTrue(store.isShownBefore("intro"));
+        assertTrue(store.isShownBefore("menu"));
+        assertFalse(store.isShownBefore("settings"));
+        assertTrue(store.mWrites.isEmpty());
+    }
+
+    @Test
+    public void whenLoadedRunsAfterTheLoad() {
+        QueueExecutor executor = new QueueExecutor();
+        final RecordingStore store = new RecordingStore(executor, "intro");
+        assertFalse(store.isLoaded());
+        final List<Boolean> shown = new ArrayList<>();
+        store.whenLoaded(new Runnable() {
+            @Override
+            public void run() {
+                shown.add(store.isShownBefore("intro"));
+            }
+        });
+        assertTrue(shown.isEmpty());
+
+        executor.runAll();
+        assertTrue(store.isLoaded());
+        assertEquals(Arrays.asList(Boolean.TRUE), shown);
+
+        store.whenLoaded(new Runnable() {
+            @Override
+            public void run() {
+                shown.add(Boolean.FALSE);
+            }
+        });
+        assertEquals(2, shown.size());
+        assertEquals(0, executor.size());
+    }
+
+    @Test
+    public void changesUntilTheWriteRunsGoIntoOneBatch() {
+        QueueExecutor executor = new QueueExecutor();
+        RecordingStore store = new RecordingStore(executor, "intro");
+        executor.runAll();
+
+        store.markShown("menu");
+        store.markShown("settings");
+        store.reset("menu");
+        store.reset("intro");
+        assertFalse(store.isShownBefore("menu"));
+        assertTrue(store.isShownBefore("settings"));
+        assertEquals(1, executor.size());
+
+        executor.runAll();
+        assertEquals(1, store.mWrites.size());
+        Map<String, Boolean> expected = new LinkedHashMap<>();
+        expected.put("menu", Boolean.FALSE);
+        expected.put("settings", Boolean.TRUE);
+        expected.put("intro", Boolean.FALSE);
+        assertEquals(expected, store.mWrites.get(0));
+        assertFalse(store.mClears.get(0));
+
+        // the next change starts a new batch
+        store.markShown("menu");
+        executor.runAll();
+        assertEquals(2, store.mWrites.size());
+    }
+
+    @Test
+    public void unchangedFlagsAreNotWritten() {
+        QueueExecutor executor = new QueueExecutor();
+        RecordingStore store = new RecordingStore(executor, "intro");
+        executor.runAll();
+
+        store.markShown("intro");
+        store.reset("menu");
+        assertEquals(0, executor.size());
+    }
+
+    @Test
+    public void resetAllClearsBeforeTheFollowingChanges() {
+        QueueExecutor executor = new QueueExecutor();
+        RecordingStore store = new RecordingStore(executor, "intro", "menu");
+        executor.runAll();
+
+        store.markShown("settings");
+        store.resetAll();
+        store.markShown("menu");
+        assertFalse(store.isShownBefore("intro"));
+        assertTrue(store.isShownBefore("menu"));
+
+        executor.runAll();
+        assertEquals(1, store.mWrites.size());
+        assertTrue(store.mClears.get(0));
+        assertEquals(Arrays.asList("menu"), new ArrayList<>(store.mWrites.get(0).keySet()));
+    }
+
+    @Test
+    public void brokenDataLoadsAsNoFlags() {
+        RecordingStore store = new RecordingStore(new DirectExecutor(), true, "intro");
+        assertFalse(store.isShownBefore("intro"));
+    }
+
+    @Test
+    public void reloadKeepsChangesNotWrittenYet() {
+        QueueExecutor executor = new QueueExecutor();
+        RecordingStore store = new RecordingStore(executor, "intro");
+        executor.runAll();
+        store.markShown("menu");
+        store.reset("intro");
+
+        // another process flagged these in the meantime
+        Set<Long> disk = new HashSet<>();
+        disk.add(AsyncShowOnceStore.key("intro"));
+        disk.add(AsyncShowOnceStore.key("settings"));
+        store.reloadFrom(disk);
+        assertFalse(store.isShownBefore("intro"));
+        assertTrue(store.isShownBefore("menu"));
+        assertTrue(store.isShownBefore("settings"));
+    }
+
+    @Test
+    public void lookupsWaitForTheLoad() throws InterruptedException {
+        final QueueExecutor executor = new QueueExecutor();
+        final RecordingStore store = new RecordingStore(executor, "intro");
+        final boolean[] shown = new boolean[1];
+        Thread lookup = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                shown[0] = store.isShownBefore("intro");
+            }
+        });
+        lookup.start();
+        lookup.join(50);
+        assertTrue(lookup.isAlive());
+
+        executor.runAll();
+        lookup.join(5000);
+        assertFalse(lookup.isAlive());
+        assertTrue(shown[0]);
+    }
+
+    /**
+     * Store over a set of ids, recording every write
+     */
+    private static class RecordingStore extends AsyncShowOnceStore {
+
+        final Set<String> mLoaded;
+        final List<Map<String, Boolean>> mWrites = new ArrayList<>();
+        final List<Boolean> mClears = new ArrayList<>();
+        final boolean mBroken;
+
+        RecordingStore(Executor executor, String... loaded) {
+            this(executor, false, loaded);
+        }
+
+        /**
+         * @param broken true to fail the load after reading the ids
+         */
+        RecordingStore(Executor executor, boolean broken, String... loaded) {
+            super(executor);
+            mLoaded = new HashSet<>(Arrays.asList(loaded));
+            mBroken = broken;
+            startLoading();
+        }
+
+        void reloadFrom(Set<Long> shown) {
+            reload(shown);
+        }
+
+        @Override
+        protected void load(Set<Long> shown) throws IOException {
+            for (String id : mLoaded) {
+                shown.add(key(id));
+            }
+            if (mBroken) {
+                throw new IOException("broken");
+            }
+        }
+
+        @Override
+        protected void write(Map<String, Boolean> changes, boolean clear) {
+            mWrites.add(changes);
+            mClears.add(clear);
+        }
+    }
+}
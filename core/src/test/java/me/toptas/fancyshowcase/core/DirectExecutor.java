@@ -0,0 +1,15 @@
+package me.toptas.fancyshowcase.core;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks on the calling thread, which makes the show once stores synchronous
+ */
+
+class DirectExecutor implements Executor {
+
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+}
@@ -0,0 +1,54 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileShowOnceStoreTest {
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    private File mFile;
+
+    @Before
+    public void setUp() {
+        mFile = new File(mFolder.getRoot(), "show_once");
+    }
+
+    @Test
+    public void flagsArePersisted() throws IOException {
+        FileShowOnceStore store = new FileShowOnceStore(mFile, new DirectExecutor());
+        store.markShown("intro");
+        store.markShown("menu");
+        store.reset("menu");
+
+        FileShowOnceStore reopened = new FileShowOnceStore(mFile, new DirectExecutor());
+        assertTrue(reopened.isShownBefore("intro"));
+        assertFalse(reopened.isShownBefore("menu"));
+        assertTrue(ShowOnceFile.containsMapped(mFile, ShowOnceFile.hash("intro")));
+
+        reopened.resetAll();
+        assertFalse(new FileShowOnceStore(mFile, new DirectExecutor()).isShownBefore("intro"));
+    }
+
+    @Test
+    public void brokenFileStartsOver() throws IOException {
+        FileOutputStream out = new FileOutputStream(mFile);
+        out.write("<map></map>".getBytes("UTF-8"));
+        out.close();
+
+        FileShowOnceStore store = new FileShowOnceStore(mFile, new DirectExecutor());
+        assertFalse(store.isShownBefore("intro"));
+        store.markShown("intro");
+        assertTrue(new FileShowOnceStore(mFile, new DirectExecutor()).isShownBefore("intro"));
+    }
+}
@@ -0,0 +1,78 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FocusGeometryTest {
+
+    private static final float DELTA = 0.0001f;
+
+    @Test
+    public void centerAndRadiusOfAView() {
+        assertEquals(150, FocusGeometry.center(100, 100));
+        assertEquals(150, FocusGeometry.center(100, 101));
+        // half the diagonal of 60x80 is 50
+        assertEquals(50, FocusGeometry.viewRadius(60, 80, 1));
+        assertEquals(75, FocusGeometry.viewRadius(60, 80, 1.5));
+    }
+
+    @Test
+    public void pulseOutsetCoversAmplitudeBorderAndAntiAliasing() {
+        assertEquals(21, FocusGeometry.pulseOutset(20, 1, 0));
+        assertEquals(24, FocusGeometry.pulseOutset(20, 1, 5));
+        assertEquals(11, FocusGeometry.pulseOutset(20, 0.5, 0));
+    }
+
+    @Test
+    public void rectEdgesAreGrownByPaddingAndOffset() {
+        assertEquals(85f, FocusGeometry.rectStart(100, 20, 5, 0), DELTA);
+        assertEquals(115f, FocusGeometry.rectEnd(100, 20, 5, 0), DELTA);
+        assertEquals(82.5f, FocusGeometry.rectStart(100, 21, 5, 2), DELTA);
+        assertEquals(117.5f, FocusGeometry.rectEnd(100, 21, 5, 2), DELTA);
+        // integer rects round the half size down
+        assertEquals(85, FocusGeometry.rectStart(100, 21, 5));
+        assertEquals(115, FocusGeometry.rectEnd(100, 21, 5));
+        assertEquals(37.5f, FocusGeometry.circleRadius(30, 5, 2.5f), DELTA);
+    }
+
+    @Test
+    public void circleContainsItsEdgeOnly() {
+        assertTrue(FocusGeometry.circleContains(0, 0, 10, 0, 0));
+        assertTrue(FocusGeometry.circleContains(0, 0, 10, 6, 8));
+        assertFalse(FocusGeometry.circleContains(0, 0, 10, 7, 8));
+        assertFalse(FocusGeometry.circleContains(0, 0, 10, -10.01f, 0));
+    }
+
+    @Test
+    public void roundRectExcludesCorners() {
+        // 0..100 x 0..50 with corner radius 10
+        assertTrue(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 50, 25));
+        assertTrue(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 0, 25));
+        assertTrue(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 50, 0));
+        assertTrue(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 3, 3));
+        assertFalse(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 1, 1));
+        assertFalse(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 99, 49));
+        assertFalse(FocusGeometry.roundRectContains(0, 0, 100, 50, 10, 101, 25));
+        // square corners contain the corner point
+        assertTrue(FocusGeometry.roundRectContains(0, 0, 100, 50, 0, 0, 0));
+    }
+
+    @Test
+    public void roundRectClampsCornerRadiusToHalfTheSize() {
+        // a 20x20 rect with radius 50 is a circle of radius 10
+        assertTrue(FocusGeometry.roundRectContains(0, 0, 20, 20, 50, 10, 0));
+        assertFalse(FocusGeometry.roundRectContains(0, 0, 20, 20, 50, 2, 2));
+    }
+
+    @Test
+    public void rectanglesIntersectOnlyIfTheyOverlap() {
+        assertTrue(FocusGeometry.intersects(0, 0, 10, 10, 5, 5, 15, 15));
+        assertTrue(FocusGeometry.intersects(0, 0, 10, 10, 2, 2, 3, 3));
+        // touching edges do not overlap
+        assertFalse(FocusGeometry.intersects(0, 0, 10, 10, 10, 0, 20, 10));
+        assertFalse(FocusGeometry.intersects(0, 0, 10, 10, 0, 11, 10, 20));
+    }
+}
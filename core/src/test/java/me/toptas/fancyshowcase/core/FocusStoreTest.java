@@ -0,0 +1,140 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FocusStoreTest {
+
+    private static final float DELTA = 0.0001f;
+
+    @Test
+    public void addGrowsAndResetsValues() {
+        FocusStore store = new FocusStore(1);
+        for (int i = 0; i < 10; i++) {
+            int index = circle(store, i * 10, 0, 5);
+            store.setBorder(index, 0xff00ff00, 3);
+        }
+        assertEquals(10, store.size());
+        assertEquals(90, store.centerX(9));
+        assertEquals(3, store.borderSize(9));
+
+        store.clear();
+        assertEquals(0, store.size());
+        int index = store.add();
+        assertEquals(0, index);
+        assertFalse(store.isCircle(index));
+        assertTrue(store.hasHole(index));
+        assertEquals(0, store.centerX(index));
+        assertEquals(0, store.borderSize(index));
+    }
+
+    @Test
+    public void circleContainsPulsedRadius() {
+        FocusStore store = new FocusStore();
+        int index = circle(store, 100, 100, 20);
+        store.setCircle(index, 20, 5);
+
+        assertEquals(25f, store.radius(index, 0), DELTA);
+        assertTrue(store.contains(index, 125, 100, 0));
+        assertFalse(store.contains(index, 130, 100, 0));
+        assertTrue(store.contains(index, 130, 100, 5));
+    }
+
+    @Test
+    public void rectContainsPaddedAndPulsedArea() {
+        FocusStore store = new FocusStore();
+        int index = store.add();
+        store.setCenter(index, 100, 100);
+        store.setRect(index, 40, 20, 0);
+        store.setRectPadding(index, 1, 2, 3, 4);
+
+        assertEquals(79f, store.rectLeft(index, 0), DELTA);
+        assertEquals(88f, store.rectTop(index, 0), DELTA);
+        assertEquals(123f, store.rectRight(index, 0), DELTA);
+        assertEquals(114f, store.rectBottom(index, 0), DELTA);
+        assertTrue(store.contains(index, 79, 88, 0));
+        assertFalse(store.contains(index, 78, 88, 0));
+        assertTrue(store.contains(index, 78, 88, 1));
+        assertEquals(77f, store.rectLeft(index, 2), DELTA);
+        assertEquals(125f, store.rectRight(index, 2), DELTA);
+    }
+
+    @Test
+    public void boundsIncludeTheFeatherOfCirclesOnly() {
+        FocusStore store = new FocusStore();
+        int circle = circle(store, 100, 100, 20);
+        store.setFeather(circle, 10);
+        assertEquals(10, store.feather(circle));
+        assertEquals(70f, store.boundsLeft(circle, 0), DELTA);
+        assertEquals(130f, store.boundsRight(circle, 0), DELTA);
+        assertEquals(65f, store.boundsTop(circle, 5), DELTA);
+        assertEquals(135f, store.boundsBottom(circle, 5), DELTA);
+
+        int rect = store.add();
+        store.setCenter(rect, 100, 100);
+        store.setRect(rect, 40, 20, 4);
+        store.setFeather(rect, 10);
+        assertEquals(0, store.feather(rect));
+        assertEquals(10, store.featherWidth(rect));
+        assertEquals(80f, store.boundsLeft(rect, 0), DELTA);
+        assertEquals(90f, store.boundsTop(rect, 0), DELTA);
+        assertEquals(120f, store.boundsRight(rect, 0), DELTA);
+        assertEquals(110f, store.boundsBottom(rect, 0), DELTA);
+    }
+
+    @Test
+    public void changingTheShapeRecompilesTheBounds() {
+        FocusStore store = new FocusStore();
+        int index = store.add();
+        store.setCenter(index, 100, 100);
+        store.setRect(index, 40, 20, 0);
+        store.setCircle(index, 30, 0);
+        assertEquals(80f, store.boundsLeft(index, 0), DELTA);
+
+        store.setShape(index, true, false);
+        assertTrue(store.isCircle(index));
+        assertFalse(store.hasHole(index));
+        assertEquals(70f, store.boundsLeft(index, 0), DELTA);
+    }
+
+    @Test
+    public void intersectsGrowsBoundsByOffsetAndOutset() {
+        FocusStore store = new FocusStore();
+        int index = circle(store, 100, 100, 20);
+        // bounds 80..120
+        assertTrue(store.intersects(index, 110, 110, 200, 200, 0, 0));
+        assertFalse(store.intersects(index, 121, 0, 200, 200, 0, 0));
+        assertTrue(store.intersects(index, 121, 0, 200, 200, 1, 0.5f));
+        assertTrue(store.intersects(index, 121, 0, 200, 200, 0, 2));
+        assertFalse(store.intersects(index, 0, 0, 80, 80, 0, 0));
+    }
+
+    @Test
+    public void areaBoundsMatchTheIntegerFocusRect() {
+        FocusStore store = new FocusStore();
+        int circle = circle(store, 100, 100, 20);
+        store.setCircle(circle, 20, 3);
+        int[] out = new int[4];
+        store.areaBounds(circle, out);
+        assertArrayEquals(new int[]{77, 77, 123, 123}, out);
+
+        int rect = store.add();
+        store.setCenter(rect, 100, 100);
+        store.setRect(rect, 41, 21, 0);
+        store.setRectPadding(rect, 1, 2, 3, 4);
+        store.areaBounds(rect, out);
+        assertArrayEquals(new int[]{79, 88, 123, 114}, out);
+    }
+
+    private static int circle(FocusStore store, int centerX, int centerY, int radius) {
+        int index = store.add();
+        store.setShape(index, true, true);
+        store.setCenter(index, centerX, centerY);
+        store.setCircle(index, radius, 0);
+        return index;
+    }
+}
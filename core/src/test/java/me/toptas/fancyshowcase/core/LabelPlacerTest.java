@@ -0,0 +1,75 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class LabelPlacerTest {
+
+    private static final float DELTA = 0.0001f;
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 1000;
+    private static final float GAP = 10;
+
+    private final LabelPlacer mPlacer = new LabelPlacer();
+
+    @Test
+    public void labelGoesBelowItsFocusAreaCentered() {
+        float[] out = place(new float[]{400, 100, 600, 200}, new float[]{0, 100, 50});
+        assertEquals(450f, out[0], DELTA);
+        assertEquals(210f, out[1], DELTA);
+        assertEquals(LabelPlacer.SIDE_BELOW, (int) out[2]);
+    }
+
+    @Test
+    public void labelGoesAboveIfThereIsNoRoomBelow() {
+        float[] out = place(new float[]{400, 900, 600, 980}, new float[]{0, 100, 50});
+        assertEquals(450f, out[0], DELTA);
+        assertEquals(840f, out[1], DELTA);
+        assertEquals(LabelPlacer.SIDE_ABOVE, (int) out[2]);
+    }
+
+    @Test
+    public void labelSlidesBackOntoTheScreen() {
+        float[] out = place(new float[]{0, 100, 40, 200}, new float[]{0, 200, 50});
+        assertEquals(0f, out[0], DELTA);
+        assertEquals(LabelPlacer.SIDE_BELOW, (int) out[2]);
+
+        out = place(new float[]{960, 100, 1000, 200}, new float[]{0, 200, 50});
+        assertEquals(800f, out[0], DELTA);
+    }
+
+    @Test
+    public void labelAvoidsOtherFocusAreas() {
+        // a focus area right below the first one blocks its lower side
+        float[] out = place(new float[]{400, 400, 600, 500, 300, 505, 700, 700}, new float[]{0, 100, 50});
+        assertEquals(LabelPlacer.SIDE_ABOVE, (int) out[2]);
+        assertEquals(340f, out[1], DELTA);
+    }
+
+    @Test
+    public void labelsAvoidEachOther() {
+        // two focus areas side by side, the first label below takes the room of the second one
+        float[] out = place(new float[]{100, 400, 300, 500, 310, 400, 510, 500},
+                new float[]{0, 400, 50, 1, 100, 50});
+        assertEquals(LabelPlacer.SIDE_BELOW, (int) out[2]);
+        assertEquals(0f, out[0], DELTA);
+        assertFalse(LabelPlacer.SIDE_BELOW == (int) out[5]);
+    }
+
+    @Test
+    public void leastCoveredSideWinsIfEverySideIsBlocked() {
+        // the focus area fills the screen except for a strip on the right
+        float[] out = place(new float[]{0, 0, 800, 1000}, new float[]{0, 150, 100});
+        assertEquals(LabelPlacer.SIDE_RIGHT, (int) out[2]);
+        assertEquals(810f, out[0], DELTA);
+        assertEquals(450f, out[1], DELTA);
+    }
+
+    private float[] place(float[] focusRects, float[] labels) {
+        float[] out = new float[labels.length];
+        mPlacer.place(WIDTH, HEIGHT, focusRects, labels, GAP, out);
+        return out;
+    }
+}
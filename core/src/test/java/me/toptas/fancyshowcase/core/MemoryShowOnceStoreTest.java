@@ -0,0 +1,26 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryShowOnceStoreTest {
+
+    @Test
+    public void flagsLiveAsLongAsTheStore() {
+        MemoryShowOnceStore store = new MemoryShowOnceStore();
+        assertFalse(store.isShownBefore("intro"));
+        store.markShown("intro");
+        store.markShown("menu");
+        assertTrue(store.isShownBefore("intro"));
+
+        store.reset("intro");
+        assertFalse(store.isShownBefore("intro"));
+        assertTrue(store.isShownBefore("menu"));
+
+        store.resetAll();
+        assertFalse(store.isShownBefore("menu"));
+        assertFalse(new MemoryShowOnceStore().isShownBefore("intro"));
+    }
+}
@@ -0,0 +1,84 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Two stores on the same file stand in for two processes, each with its own executor
+ */
+public class MultiProcessShowOnceStoreTest {
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    private QueueExecutor mFirstExecutor;
+    private QueueExecutor mSecondExecutor;
+    private MultiProcessShowOnceStore mFirst;
+    private MultiProcessShowOnceStore mSecond;
+
+    @Before
+    public void setUp() {
+        File file = new File(mFolder.getRoot(), "show_once");
+        mFirstExecutor = new QueueExecutor();
+        mSecondExecutor = new QueueExecutor();
+        mFirst = new MultiProcessShowOnceStore(file, mFirstExecutor);
+        mSecond = new MultiProcessShowOnceStore(file, mSecondExecutor);
+        mFirstExecutor.runAll();
+        mSecondExecutor.runAll();
+    }
+
+    @Test
+    public void firstLookupAfterAnotherProcessWroteSeesTheFlag() {
+        assertFalse(mSecond.isShownBefore("intro"));
+        mFirst.markShown("intro");
+        mFirstExecutor.runAll();
+
+        assertTrue(mSecond.isShownBefore("intro"));
+        assertEquals(0, mSecondExecutor.size());
+    }
+
+    @Test
+    public void resetOfAnotherProcessIsSeenByTheNextLookup() {
+        mFirst.markShown("intro");
+        mFirstExecutor.runAll();
+        assertTrue(mSecond.isShownBefore("intro"));
+
+        mFirst.reset("intro");
+        mFirstExecutor.runAll();
+        assertFalse(mSecond.isShownBefore("intro"));
+    }
+
+    @Test
+    public void writesKeepTheFlagsOfOtherProcesses() {
+        mFirst.markShown("intro");
+        mFirstExecutor.runAll();
+        mSecond.markShown("menu");
+        mSecondExecutor.runAll();
+
+        assertTrue(mSecond.isShownBefore("intro"));
+        assertTrue(mFirst.isShownBefore("menu"));
+        assertTrue(mFirst.isShownBefore("intro"));
+    }
+
+    @Test
+    public void changesNotWrittenYetSurviveAReload() {
+        mFirst.markShown("intro");
+        mFirstExecutor.runAll();
+
+        mSecond.markShown("menu");
+        // the lookup reloads the file before the change is written
+        assertTrue(mSecond.isShownBefore("intro"));
+        assertTrue(mSecond.isShownBefore("menu"));
+
+        mSecondExecutor.runAll();
+        assertTrue(mFirst.isShownBefore("menu"));
+    }
+}
@@ -0,0 +1,37 @@
+package me.toptas.fancyshowcase.core;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Queues tasks until the test runs them
+ */
+
+class QueueExecutor implements Executor {
+
+    private final Queue<Runnable> mTasks = new ArrayDeque<>();
+
+    @Override
+    public synchronized void execute(Runnable command) {
+        mTasks.add(command);
+    }
+
+    synchronized int size() {
+        return mTasks.size();
+    }
+
+    /**
+     * Runs the queued tasks and the ones they queue, in order
+     */
+    void runAll() {
+        Runnable task;
+        while ((task = poll()) != null) {
+            task.run();
+        }
+    }
+
+    private synchronized Runnable poll() {
+        return mTasks.poll();
+    }
+}
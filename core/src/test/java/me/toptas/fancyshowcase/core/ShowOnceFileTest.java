@@ -0,0 +1,222 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShowOnceFileTest {
+
+    private static final int HEADER_SIZE = 12;
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    private File mFile;
+
+    @Before
+    public void setUp() {
+        mFile = new File(mFolder.getRoot(), "show_once");
+    }
+
+    @Test
+    public void hashIsStable() {
+        assertEquals(0xcbf29ce484222325L, ShowOnceFile.hash(""));
+        assertEquals(ShowOnceFile.hash("intro"), ShowOnceFile.hash("intro"));
+        assertFalse(ShowOnceFile.hash("intro") == ShowOnceFile.hash("intrp"));
+    }
+
+    @Test
+    public void flagsSurviveALoad() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.load();
+        assertEquals(0, file.size());
+        for (int i = 0; i < 10; i++) {
+            file.add(ShowOnceFile.hash("id" + i));
+        }
+        file.add(ShowOnceFile.hash("id3"));
+
+        ShowOnceFile loaded = load();
+        assertEquals(10, loaded.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(loaded.contains(ShowOnceFile.hash("id" + i)));
+        }
+        assertFalse(loaded.contains(ShowOnceFile.hash("id10")));
+        for (int i = 1; i < loaded.size(); i++) {
+            assertTrue(loaded.get(i - 1) < loaded.get(i));
+        }
+    }
+
+    @Test
+    public void appendAddsOneHashToTheTail() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.add(1);
+        // the first add writes the table
+        assertEquals(HEADER_SIZE + 8, mFile.length());
+        assertEquals(1, tableSize());
+        file.add(2);
+        assertEquals(HEADER_SIZE + 16, mFile.length());
+        assertEquals(1, tableSize());
+    }
+
+    @Test
+    public void tornAppendIsIgnoredAndOverwritten() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.add(1);
+        file.add(2);
+        // a crash in the middle of appending a hash leaves part of it
+        FileOutputStream out = new FileOutputStream(mFile, true);
+        out.write(new byte[]{1, 2, 3});
+        out.close();
+
+        ShowOnceFile loaded = load();
+        assertEquals(2, loaded.size());
+        loaded.add(3);
+        assertEquals(HEADER_SIZE + 24, mFile.length());
+        assertEquals(3, load().size());
+        assertTrue(load().contains(3));
+    }
+
+    @Test
+    public void fileShorterThanTheHeaderIsReplaced() throws IOException {
+        // a crash right after creating the file leaves it empty
+        new FileOutputStream(mFile).close();
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.add(1);
+        assertEquals(HEADER_SIZE + 8, mFile.length());
+        assertEquals(1, tableSize());
+        assertTrue(load().contains(1));
+    }
+
+    @Test
+    public void appendWithoutLoadingIsRejected() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.add(1);
+        file.add(2);
+        try {
+            new ShowOnceFile(mFile).add(3);
+            fail();
+        } catch (IOException expected) {
+            // the file was never loaded
+        }
+        assertEquals(HEADER_SIZE + 16, mFile.length());
+
+        ShowOnceFile other = load();
+        other.add(3);
+        try {
+            // the file changed since it was written
+            file.add(4);
+            fail();
+        } catch (IOException expected) {
+            // stale
+        }
+        file.load();
+        file.add(4);
+        assertEquals(4, load().size());
+    }
+
+    @Test
+    public void longTailIsFoldedIntoTheTable() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.add(0);
+        for (int i = 1; i <= 64; i++) {
+            file.add(i);
+        }
+        assertEquals(1, tableSize());
+        file.add(65);
+        assertEquals(66, tableSize());
+        assertEquals(HEADER_SIZE + 66 * 8, mFile.length());
+        assertEquals(66, load().size());
+    }
+
+    @Test
+    public void removeSwapsInANewFile() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.add(1);
+        file.add(2);
+        file.add(3);
+        RandomAccessFile reader = new RandomAccessFile(mFile, "r");
+        try {
+            file.remove(2);
+            // a reader of the old file still sees all of it
+            assertEquals(HEADER_SIZE + 24, reader.length());
+        } finally {
+            reader.close();
+        }
+        assertFalse(new File(mFile.getPath() + ".tmp").exists());
+        ShowOnceFile loaded = load();
+        assertEquals(2, loaded.size());
+        assertFalse(loaded.contains(2));
+        assertEquals(2, tableSize());
+
+        file.clear();
+        assertEquals(0, load().size());
+        assertEquals(HEADER_SIZE, mFile.length());
+    }
+
+    @Test
+    public void containsMappedSearchesTableAndTail() throws IOException {
+        assertFalse(ShowOnceFile.containsMapped(mFile, 1));
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        for (int i = 0; i < 20; i++) {
+            file.add(i * 3);
+        }
+        file.write();
+        file.add(100);
+        file.add(-5);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(ShowOnceFile.containsMapped(mFile, i * 3));
+            assertFalse(ShowOnceFile.containsMapped(mFile, i * 3 + 1));
+        }
+        assertTrue(ShowOnceFile.containsMapped(mFile, 100));
+        assertTrue(ShowOnceFile.containsMapped(mFile, -5));
+    }
+
+    @Test
+    public void otherFilesAreRejected() throws IOException {
+        FileOutputStream out = new FileOutputStream(mFile);
+        out.write("<map></map>".getBytes("UTF-8"));
+        out.close();
+        try {
+            load();
+            fail();
+        } catch (IOException expected) {
+            // not a show once file
+        }
+        try {
+            ShowOnceFile.containsMapped(mFile, 1);
+            fail();
+        } catch (IOException expected) {
+            // not a show once file
+        }
+    }
+
+    private ShowOnceFile load() throws IOException {
+        ShowOnceFile file = new ShowOnceFile(mFile);
+        file.load();
+        return file;
+    }
+
+    /**
+     * @return size of the sorted table in the file header
+     */
+    private int tableSize() throws IOException {
+        RandomAccessFile in = new RandomAccessFile(mFile, "r");
+        try {
+            in.seek(8);
+            return in.readInt();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package me.toptas.fancyshowcase.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpatialGridTest {
+
+    private static final float DELTA = 0.0001f;
+
+    private SpatialGrid mGrid;
+
+    @Before
+    public void setUp() {
+        mGrid = new SpatialGrid();
+        mGrid.reset(1000, 1000, 100);
+    }
+
+    @Test
+    public void overlapAreaSumsOverlappingRectangles() {
+        mGrid.add(0, 0, 100, 100);
+        mGrid.add(150, 150, 250, 250);
+        assertEquals(2500f, mGrid.overlapArea(50, 50, 150, 150), DELTA);
+        assertEquals(2500f + 2500f, mGrid.overlapArea(50, 50, 200, 200), DELTA);
+        assertEquals(0f, mGrid.overlapArea(300, 300, 400, 400), DELTA);
+        // touching edges do not overlap
+        assertEquals(0f, mGrid.overlapArea(100, 0, 150, 100), DELTA);
+    }
+
+    @Test
+    public void rectangleCoveringManyCellsIsCountedOnce() {
+        mGrid.add(0, 0, 1000, 1000);
+        assertEquals(500f * 500f, mGrid.overlapArea(250, 250, 750, 750), DELTA);
+        // the next query is stamped anew
+        assertEquals(100f * 100f, mGrid.overlapArea(0, 0, 100, 100), DELTA);
+    }
+
+    @Test
+    public void rectanglesOffTheGridAreClampedToTheEdgeCells() {
+        mGrid.add(-100, -100, 10, 10);
+        mGrid.add(990, 990, 1200, 1200);
+        assertEquals(20f * 20f, mGrid.overlapArea(-10, -10, 10, 10), DELTA);
+        assertEquals(100f * 100f, mGrid.overlapArea(1000, 1000, 1100, 1100), DELTA);
+    }
+
+    @Test
+    public void cellsGrowBeyondTheirInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            mGrid.add(10, 10, 20, 20);
+        }
+        assertEquals(100 * 100f, mGrid.overlapArea(0, 0, 50, 50), DELTA);
+    }
+
+    @Test
+    public void resetRemovesAllRectangles() {
+        mGrid.add(0, 0, 100, 100);
+        mGrid.reset(2000, 500, 64);
+        assertEquals(0f, mGrid.overlapArea(0, 0, 100, 100), DELTA);
+        mGrid.add(1900, 0, 2000, 100);
+        assertEquals(100f * 100f, mGrid.overlapArea(1800, 0, 2000, 100), DELTA);
+    }
+}
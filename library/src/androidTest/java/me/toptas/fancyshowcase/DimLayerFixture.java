@@ -0,0 +1,54 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.List;
+
+/**
+ * Dim layer and pulse view of a shown overlay, laid out without a window so that their frames can
+ * be drawn into bitmaps
+ */
+
+class DimLayerFixture {
+
+    static final int WIDTH = 720;
+    static final int HEIGHT = 1280;
+    static final int MASK_COLOR = 0xB0102030;
+
+    final FrameLayout mParent;
+    final FancyImageViewV2 mImageView;
+    final FocusPulseView mPulseView;
+
+    /**
+     * @param pulse true to draw the focus areas in the pulse view, as while they are animated
+     */
+    DimLayerFixture(Context context, MaskRenderMode maskRenderMode, boolean pulse,
+                    List<FocusDescriptor> focusDescriptors) {
+        mParent = new FrameLayout(context);
+        mImageView = new FancyImageViewV2(context);
+        mImageView.setAnimationEnable(pulse);
+        mImageView.setMaskRenderMode(maskRenderMode);
+        mImageView.setMaskLayerColor(MASK_COLOR);
+        mImageView.setFocusDescriptors(focusDescriptors);
+        mImageView.setLayoutParams(new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.MATCH_PARENT));
+        mParent.addView(mImageView);
+        mPulseView = new FocusPulseView(context, mImageView);
+        mParent.addView(mPulseView);
+        mImageView.setPulseView(mPulseView);
+        mParent.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mParent.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * Draws the dim layer with the pulse view on top, as the window does
+     */
+    void draw(Canvas canvas) {
+        mParent.draw(canvas);
+    }
+}
@@ -0,0 +1,72 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drawing a frame of the focus areas must not allocate, whatever the pulse offset: no paths,
+ * rectangles, shaders or iterators are created per frame.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FrameAllocationTest {
+
+    private static final int FRAMES = 60;
+
+    @Test
+    public void directFramesDoNotAllocate() {
+        assertNoFrameAllocations(MaskRenderMode.DIRECT);
+    }
+
+    @Test
+    public void bitmapFramesDoNotAllocate() {
+        assertNoFrameAllocations(MaskRenderMode.BITMAP);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void assertNoFrameAllocations(MaskRenderMode maskRenderMode) {
+        Context context = InstrumentationRegistry.getTargetContext();
+        List<FocusDescriptor> focusDescriptors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int x = 60 + i % 5 * 140;
+            int y = 80 + i / 5 * 300;
+            if (i % 3 == 0) {
+                focusDescriptors.add(new FocusDescriptor(context).rect(x, y, 100, 60)
+                        .borderColor(Color.WHITE).borderSize(4));
+            } else {
+                focusDescriptors.add(new FocusDescriptor(context).circle().circle(x, y, 40)
+                        .feather(i % 3 == 1 ? 20 : 0).borderColor(i % 2 == 0 ? Color.WHITE : Color.RED)
+                        .borderSize(6));
+            }
+        }
+        DimLayerFixture fixture = new DimLayerFixture(context, maskRenderMode, true, focusDescriptors);
+        Bitmap bitmap = Bitmap.createBitmap(DimLayerFixture.WIDTH, DimLayerFixture.HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        // the first frame creates the mask bitmap
+        fixture.mImageView.drawFocusAreas(canvas);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            fixture.mImageView.setPulseOffset(frame * FocusPulse.AMPLITUDE / FRAMES);
+            fixture.mImageView.drawFocusAreas(canvas);
+        }
+        Debug.stopAllocCounting();
+        int allocations = Debug.getThreadAllocCount();
+        bitmap.recycle();
+
+        assertEquals("objects allocated in " + FRAMES + " frames", 0, allocations);
+    }
+}
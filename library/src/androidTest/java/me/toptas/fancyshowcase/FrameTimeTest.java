@@ -0,0 +1,75 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Time of drawing one frame of the focus areas with 1, 10, 100 and 500 holes, across the pulse
+ * range. The median and the 90th percentile of each hole count are logged.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FrameTimeTest {
+
+    private static final String TAG = "FrameTimeTest";
+    private static final int WARMUP_FRAMES = 20;
+    private static final int FRAMES = 200;
+
+    @Test
+    public void frameTime() {
+        for (int holes : new int[]{1, 10, 100, 500}) {
+            measure(MaskRenderMode.DIRECT, holes);
+            measure(MaskRenderMode.BITMAP, holes);
+        }
+    }
+
+    private static void measure(MaskRenderMode maskRenderMode, int holes) {
+        Context context = InstrumentationRegistry.getTargetContext();
+        List<FocusDescriptor> focusDescriptors = new ArrayList<>();
+        int columns = (int) Math.ceil(Math.sqrt(holes));
+        int cellWidth = DimLayerFixture.WIDTH / columns;
+        int cellHeight = DimLayerFixture.HEIGHT / columns;
+        for (int i = 0; i < holes; i++) {
+            int x = i % columns * cellWidth + cellWidth / 2;
+            int y = i / columns * cellHeight + cellHeight / 2;
+            int radius = Math.max(4, Math.min(cellWidth, cellHeight) / 4);
+            if (i % 2 == 0) {
+                focusDescriptors.add(new FocusDescriptor(context).circle().circle(x, y, radius)
+                        .borderColor(Color.WHITE).borderSize(4));
+            } else {
+                focusDescriptors.add(new FocusDescriptor(context).rect(x, y, radius * 2, radius)
+                        .borderColor(Color.WHITE).borderSize(4));
+            }
+        }
+        DimLayerFixture fixture = new DimLayerFixture(context, maskRenderMode, true, focusDescriptors);
+        Bitmap bitmap = Bitmap.createBitmap(DimLayerFixture.WIDTH, DimLayerFixture.HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        long[] times = new long[FRAMES];
+        for (int frame = -WARMUP_FRAMES; frame < FRAMES; frame++) {
+            fixture.mImageView.setPulseOffset(Math.abs(frame) % (int) (FocusPulse.AMPLITUDE + 1));
+            long start = System.nanoTime();
+            fixture.mImageView.drawFocusAreas(canvas);
+            if (frame >= 0) {
+                times[frame] = System.nanoTime() - start;
+            }
+        }
+        bitmap.recycle();
+
+        Arrays.sort(times);
+        Log.i(TAG, String.format(Locale.US, "%s %d holes: median %.1f us, p90 %.1f us", maskRenderMode, holes,
+                times[FRAMES / 2] / 1000f, times[FRAMES * 9 / 10] / 1000f));
+    }
+}
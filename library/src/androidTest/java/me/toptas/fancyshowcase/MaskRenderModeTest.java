@@ -0,0 +1,116 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The erasing mask modes and {@link MaskRenderMode#DIRECT} must draw the same pixels, with
+ * overlapping holes, borders, soft edges and the focus areas grown by the pulse. Only anti aliased
+ * edges may differ slightly.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MaskRenderModeTest {
+
+    // largest channel difference of an edge pixel
+    private static final int MAX_EDGE_DELTA = 48;
+    // share of the pixels allowed to differ at all
+    private static final float MAX_EDGE_PIXELS = 0.005f;
+
+    private Context mContext;
+    private List<FocusDescriptor> mFocusDescriptors;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getTargetContext();
+        mFocusDescriptors = Arrays.asList(
+                new FocusDescriptor(mContext).circle().circle(240, 300, 90)
+                        .borderColor(Color.WHITE).borderSize(8),
+                new FocusDescriptor(mContext).circle().circle(330, 330, 70)
+                        .borderColor(Color.YELLOW).borderSize(4),
+                new FocusDescriptor(mContext).rect(300, 420, 260, 120).rectRadius(16)
+                        .borderColor(Color.WHITE).borderSize(8),
+                new FocusDescriptor(mContext).circle().circle(400, 800, 60).feather(40),
+                new FocusDescriptor(mContext).circle().circle(460, 840, 50).feather(20)
+                        .borderColor(Color.RED).borderSize(6),
+                new FocusDescriptor(mContext).circle().circle(150, 1000, 50).noHole(true)
+                        .borderColor(Color.WHITE).borderSize(8));
+    }
+
+    @Test
+    public void bitmapMatchesDirect() {
+        assertSamePixels(render(MaskRenderMode.DIRECT, false, 0), render(MaskRenderMode.BITMAP, false, 0));
+    }
+
+    @Test
+    public void alpha8MatchesDirect() {
+        assertSamePixels(render(MaskRenderMode.DIRECT, false, 0), render(MaskRenderMode.ALPHA_8, false, 0));
+    }
+
+    @Test
+    public void pulsedBitmapMatchesDirect() {
+        assertSamePixels(render(MaskRenderMode.DIRECT, true, 13), render(MaskRenderMode.BITMAP, true, 13));
+    }
+
+    @Test
+    public void pulseViewMatchesDimLayer() {
+        assertSamePixels(render(MaskRenderMode.DIRECT, false, 0), render(MaskRenderMode.DIRECT, true, 0));
+        assertSamePixels(render(MaskRenderMode.BITMAP, false, 0), render(MaskRenderMode.BITMAP, true, 0));
+    }
+
+    private Bitmap render(MaskRenderMode maskRenderMode, boolean pulse, float offset) {
+        DimLayerFixture fixture = new DimLayerFixture(mContext, maskRenderMode, pulse, mFocusDescriptors);
+        fixture.mImageView.setPulseOffset(offset);
+        Bitmap bitmap = Bitmap.createBitmap(DimLayerFixture.WIDTH, DimLayerFixture.HEIGHT, Bitmap.Config.ARGB_8888);
+        fixture.draw(new Canvas(bitmap));
+        return bitmap;
+    }
+
+    private static void assertSamePixels(Bitmap expected, Bitmap actual) {
+        int width = expected.getWidth();
+        int height = expected.getHeight();
+        int[] expectedRow = new int[width];
+        int[] actualRow = new int[width];
+        int differing = 0;
+        for (int y = 0; y < height; y++) {
+            expected.getPixels(expectedRow, 0, width, 0, y, width, 1);
+            actual.getPixels(actualRow, 0, width, 0, y, width, 1);
+            for (int x = 0; x < width; x++) {
+                int delta = delta(expectedRow[x], actualRow[x]);
+                if (delta > MAX_EDGE_DELTA) {
+                    throw new AssertionError("Pixel " + x + "," + y + " is " + Integer.toHexString(actualRow[x])
+                            + " instead of " + Integer.toHexString(expectedRow[x]));
+                }
+                if (delta > 2) {
+                    differing++;
+                }
+            }
+        }
+        assertTrue(differing + " pixels differ", differing <= width * height * MAX_EDGE_PIXELS);
+        expected.recycle();
+        actual.recycle();
+    }
+
+    /**
+     * @return largest difference of the channels of two colors
+     */
+    private static int delta(int a, int b) {
+        int delta = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            delta = Math.max(delta, Math.abs((a >>> shift & 0xff) - (b >>> shift & 0xff)));
+        }
+        return delta;
+    }
+}
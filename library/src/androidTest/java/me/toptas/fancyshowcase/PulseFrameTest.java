@@ -0,0 +1,58 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Build;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * A pulse frame invalidates only the small pulse view over the focus areas, the dim layer under it
+ * is not redrawn while the focus areas pulse
+ */
+@RunWith(AndroidJUnit4.class)
+public class PulseFrameTest {
+
+    private static final int FRAMES = 60;
+
+    @Test
+    public void pulseFrameRedrawsOnlyThePulseView() {
+        // View#isDirty()
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP);
+        Context context = InstrumentationRegistry.getTargetContext();
+        DimLayerFixture fixture = new DimLayerFixture(context, MaskRenderMode.DIRECT, true, Arrays.asList(
+                new FocusDescriptor(context).circle().circle(200, 300, 60).borderColor(Color.WHITE).borderSize(6),
+                new FocusDescriptor(context).rect(420, 360, 200, 120).borderColor(Color.WHITE).borderSize(6)));
+        int width = fixture.mPulseView.getWidth();
+        int height = fixture.mPulseView.getHeight();
+        assertEquals(View.VISIBLE, fixture.mPulseView.getVisibility());
+        assertTrue(width * height < DimLayerFixture.WIDTH * DimLayerFixture.HEIGHT / 4);
+
+        Bitmap bitmap = Bitmap.createBitmap(DimLayerFixture.WIDTH, DimLayerFixture.HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        for (int frame = 1; frame <= FRAMES; frame++) {
+            // drawing clears the dirty flags of both views
+            fixture.draw(canvas);
+            assertFalse(fixture.mImageView.isDirty());
+            assertFalse(fixture.mPulseView.isDirty());
+
+            fixture.mImageView.setPulseOffset(frame % (int) (FocusPulse.AMPLITUDE + 1));
+            assertTrue(fixture.mPulseView.isDirty());
+            assertFalse(fixture.mImageView.isDirty());
+        }
+        bitmap.recycle();
+    }
+}
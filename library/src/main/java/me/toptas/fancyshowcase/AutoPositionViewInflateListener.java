@@ -4,13 +4,21 @@ import android.graphics.Rect;
 import android.os.Build;
 import android.support.annotation.RequiresApi;
 import android.util.Log;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import me.toptas.fancyshowcase.core.FocusStore;
+
 /**
  * Created by yzsh-sym on 2017/6/22.
+ * Moves the anchors of a custom view onto the focus areas, together with their companion views.
+ * The anchor and view of the n-th focus area (starting from 1) are bound either by a tag,
+ * {@code android:tag="fscv_anchor:n"} and {@code android:tag="fscv_view:n"}, which works for any
+ * number of focus areas, or by the ids {@code fscv_anchor1..10} and {@code fscv_view1..10}.
  */
 
 @RequiresApi(api = Build.VERSION_CODES.HONEYCOMB)
@@ -42,8 +50,22 @@ public class AutoPositionViewInflateListener implements OnViewInflateListenerV3
             R.id.fscv_view10
     };
 
+    public static final String ANCHOR_TAG_PREFIX = "fscv_anchor:";
+    public static final String VIEW_TAG_PREFIX = "fscv_view:";
+
+    // anchor and view ids mapped to their slot, views are stored negated and shifted by one
+    private static final SparseIntArray sIdSlots = new SparseIntArray(anchorIds.length * 2);
+
+    static {
+        for (int i = 0; i < anchorIds.length; i++) {
+            sIdSlots.put(anchorIds[i], i);
+            sIdSlots.put(viewIds[i], -i - 1);
+        }
+    }
+
     private View[] anchors, views;
     private OnViewInflateListener onViewInflaterListener;
+    private float labelGap = -1;
 
     public AutoPositionViewInflateListener() {
     }
@@ -52,6 +74,16 @@ public class AutoPositionViewInflateListener implements OnViewInflateListenerV3
         this.onViewInflaterListener = onViewInflaterListener;
     }
 
+    /**
+     * 不再让view跟随anchor，而是把每个view放在其焦点区域的某一侧，避免与其他焦点区域、其他view以及屏幕边缘重叠
+     *
+     * @param gap distance between a focus area and its view in pixels
+     */
+    public AutoPositionViewInflateListener avoidOverlaps(int gap) {
+        labelGap = Math.max(gap, 0);
+        return this;
+    }
+
     @Override
     public void onViewInflated(View view, List<FocusDescriptor> focusDescriptorList) {
 
@@ -59,68 +91,94 @@ public class AutoPositionViewInflateListener implements OnViewInflateListenerV3
 
         anchors = new View[arraySize];
         views = new View[arraySize];
-        final Rect[] focusRects = new Rect[arraySize];
+        Rect[] focusRects = new Rect[arraySize];
+        // reads the packed values instead of every descriptor object
+        FocusStore store = FocusDescriptorList.storeOf(focusDescriptorList);
+        int[] bounds = new int[4];
+
+        bindSlots(view, anchors, views);
 
         for (int i = 0; i < anchors.length; i++) {
-            anchors[i] = view.findViewById(anchorIds[i]);
-            views[i] = view.findViewById(viewIds[i]);
-            focusRects[i] = focusDescriptorList.get(i).getFocusAreaRect();
+            store.areaBounds(i, bounds);
+            focusRects[i] = new Rect(bounds[0], bounds[1], bounds[2], bounds[3]);
 
             if (anchors[i] != null) {
                 anchors[i].setVisibility(View.INVISIBLE);
             }
-            if (views[i] != null) {
+            if (views[i] != null && (anchors[i] == null || focusRects[i].isEmpty())) {
                 views[i].setVisibility(View.INVISIBLE);
             }
         }
 
-        view.postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                // 第一个post，设置anchor尺寸至focus area实际尺寸
-
-                View poster = null;
-                for (int i = 0; i < anchors.length; i++) {
-                    if (anchors[i] != null && !focusRects[i].isEmpty()) {
-                        ViewGroup.LayoutParams params = anchors[i].getLayoutParams();
-                        params.height = focusRects[i].height();
-                        params.width = focusRects[i].width();
-                        anchors[i].setLayoutParams(params);
-
-                        if (poster == null) {
-                            poster = anchors[i];
-                        }
-                    }
-                }
+        // anchors are sized now, before the first measure, and moved in the container's layout pass
+        if (view.getParent() instanceof FocusAnchorLayout) {
+            ((FocusAnchorLayout) view.getParent()).setAnchors(anchors, views, focusRects, labelGap);
+        } else {
+            Log.w("FancyShowCaseView", "custom view is not in a FocusAnchorLayout, anchors are not placed");
+        }
+
+        if (onViewInflaterListener != null) {
+            onViewInflaterListener.onViewInflated(view);
+        }
+
+    }
 
-                if (poster != null) {
-                    poster.postDelayed(new Runnable() {
-                        @Override
-                        public void run() {
-                            // 第二个post，移动views
-
-                            for (int i = 0; i < anchors.length; i++) {
-                                if (anchors[i] != null && !focusRects[i].isEmpty()) {
-                                    float anchorCenterX = anchors[i].getLeft() + anchors[i].getWidth() / 2f;
-                                    float anchorCenterY = anchors[i].getTop() + anchors[i].getHeight() / 2f;
-
-                                    anchors[i].setTranslationX(focusRects[i].centerX() - anchorCenterX);
-                                    anchors[i].setTranslationY(focusRects[i].centerY() - anchorCenterY);
-                                    views[i].setTranslationX(focusRects[i].centerX() - anchorCenterX);
-                                    views[i].setTranslationY(focusRects[i].centerY() - anchorCenterY);
-                                    views[i].setVisibility(View.VISIBLE);
-                                }
-                            }
-                        }
-                    }, 0);
+    /**
+     * Finds the anchor and view of every slot in a single traversal of the custom view. Tags win
+     * over ids, slots beyond the number of focus areas are ignored.
+     */
+    static void bindSlots(View root, View[] anchors, View[] views) {
+        List<View> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            View child = stack.remove(stack.size() - 1);
+            bindSlot(child, anchors, views);
+            if (child instanceof ViewGroup) {
+                ViewGroup group = (ViewGroup) child;
+                for (int i = group.getChildCount() - 1; i >= 0; i--) {
+                    stack.add(group.getChildAt(i));
                 }
             }
-        }, 0);
+        }
+    }
 
+    private static void bindSlot(View child, View[] anchors, View[] views) {
+        Object tag = child.getTag();
+        if (tag instanceof String) {
+            String value = (String) tag;
+            if (value.startsWith(ANCHOR_TAG_PREFIX)) {
+                putSlot(anchors, tagSlot(value, ANCHOR_TAG_PREFIX), child, true);
+                return;
+            } else if (value.startsWith(VIEW_TAG_PREFIX)) {
+                putSlot(views, tagSlot(value, VIEW_TAG_PREFIX), child, true);
+                return;
+            }
+        }
+        if (child.getId() != View.NO_ID) {
+            int slot = sIdSlots.get(child.getId(), Integer.MIN_VALUE);
+            if (slot >= 0) {
+                putSlot(anchors, slot, child, false);
+            } else if (slot != Integer.MIN_VALUE) {
+                putSlot(views, -slot - 1, child, false);
+            }
+        }
+    }
 
-        if (onViewInflaterListener != null) {
-            onViewInflaterListener.onViewInflated(view);
+    /**
+     * @return zero based slot of the tag, -1 if the number is malformed
+     */
+    private static int tagSlot(String tag, String prefix) {
+        try {
+            return Integer.parseInt(tag.substring(prefix.length()).trim()) - 1;
+        } catch (NumberFormatException e) {
+            Log.w("FancyShowCaseView", "malformed anchor tag " + tag);
+            return -1;
         }
+    }
 
+    private static void putSlot(View[] slots, int slot, View view, boolean override) {
+        if (slot >= 0 && slot < slots.length && (override || slots[slot] == null)) {
+            slots[slot] = view;
+        }
     }
 }
@@ -5,6 +5,8 @@ import android.os.Build;
 import android.util.DisplayMetrics;
 import android.view.View;
 
+import me.toptas.fancyshowcase.core.FocusGeometry;
+
 /**
  * Created by ftoptas on 23/03/17.
  * Geometric calculations for position, size and radius
@@ -55,9 +57,9 @@ class Calculator {
             mFocusWidth = view.getWidth();
             mFocusHeight = view.getHeight();
             mFocusShape = focusShape;
-            mCircleCenterX = viewPoint[0] + mFocusWidth / 2;
-            mCircleCenterY = viewPoint[1] + mFocusHeight / 2 - adjustHeight;
-            mCircleRadius = (int) ((int) (Math.hypot(view.getWidth(), view.getHeight()) / 2) * radiusFactor);
+            mCircleCenterX = FocusGeometry.center(viewPoint[0], mFocusWidth);
+            mCircleCenterY = FocusGeometry.center(viewPoint[1], mFocusHeight) - adjustHeight;
+            mCircleRadius = FocusGeometry.viewRadius(view.getWidth(), view.getHeight(), radiusFactor);
             mHasFocus = true;
         } else {
             mHasFocus = false;
@@ -163,61 +165,28 @@ class Calculator {
     }
 
     /**
-     * @param animCounter    Counter for circle animation
-     * @param animMoveFactor Move factor for circle animation (Bigger value makes bigger animation)
-     * @return Radius of animating circle
-     */
-    float circleRadius(int animCounter, double animMoveFactor) {
-        return (float) (mCircleRadius + circlePadding + animCounter * animMoveFactor);
-    }
-
-
-    /**
-     * @param animCounter    Counter for round rect animation
-     * @param animMoveFactor Move factor for round rect animation (Bigger value makes bigger animation)
-     * @return Bottom position of round rect
-     */
-    float roundRectLeft(int animCounter, double animMoveFactor) {
-        /*return (float) (mCircleCenterX - mFocusWidth / 2 - animCounter * animMoveFactor );*/
-        return (float) (mCircleCenterX - mFocusWidth / 2d - roundRectPaddingLeft - animCounter * animMoveFactor );
-    }
-
-    /**
-     * @param animCounter    Counter for round rect animation
-     * @param animMoveFactor Move factor for round rect animation (Bigger value makes bigger animation)
-     * @return Top position of focus round rect
-     */
-    float roundRectTop(int animCounter, double animMoveFactor) {
-        /*return (float) (mCircleCenterY - mFocusHeight / 2 - animCounter * animMoveFactor);*/
-        return (float) (mCircleCenterY - mFocusHeight / 2d - roundRectPaddingTop - animCounter * animMoveFactor);
-    }
-
-    /**
-     * @param animCounter    Counter for round rect animation
-     * @param animMoveFactor Move factor for round rect animation (Bigger value makes bigger animation)
-     * @return Bottom position of round rect
-     */
-    float roundRectRight(int animCounter, double animMoveFactor) {
-        /*return (float) (mCircleCenterX + mFocusWidth / 2 + animCounter * animMoveFactor);*/
-        return (float) (mCircleCenterX + mFocusWidth / 2d + roundRectPaddingRight + animCounter * animMoveFactor);
-    }
-
-    /**
-     * @param animCounter    Counter for round rect animation
-     * @param animMoveFactor Move factor for round rect animation (Bigger value makes bigger animation)
-     * @return Bottom position of round rect
-     */
-    float roundRectBottom(int animCounter, double animMoveFactor) {
-        /*return (float) (mCircleCenterY + mFocusHeight / 2 + animCounter * animMoveFactor);*/
-        return (float) (mCircleCenterY + mFocusHeight / 2d + roundRectPaddingBottom + animCounter * animMoveFactor);
-    }
-
-    /**
-     * @param animCounter    Counter for round rect animation
-     * @param animMoveFactor Move factor for round rect animation (Bigger value makes bigger animation)
-     * @return Radius of focus round rect
-     */
-    float roundRectLeftCircleRadius(int animCounter, double animMoveFactor) {
-        return (float) (mFocusHeight / 2 + animCounter * animMoveFactor);
+     * @param roundRectRadius round rectangle radius
+     * @param borderColor     focus border color
+     * @param borderSize      focus border size, 0 for no border
+     * @return focus descriptor of the calculated focus area
+     */
+    @SuppressWarnings("deprecation")
+    FocusDescriptor toFocusDescriptor(int roundRectRadius, int borderColor, int borderSize) {
+        FocusDescriptor fd = new FocusDescriptor();
+        fd.focusShape = mFocusShape;
+        fd.centerX = mCircleCenterX;
+        fd.centerY = mCircleCenterY;
+        fd.rectWidth = mFocusWidth;
+        fd.rectHeight = mFocusHeight;
+        fd.roundRectRadius = roundRectRadius;
+        fd.roundRectPaddingLeft = roundRectPaddingLeft;
+        fd.roundRectPaddingTop = roundRectPaddingTop;
+        fd.roundRectPaddingRight = roundRectPaddingRight;
+        fd.roundRectPaddingBottom = roundRectPaddingBottom;
+        fd.circleRadius = mCircleRadius;
+        fd.circlePadding = circlePadding;
+        fd.focusBorderColor = borderColor;
+        fd.focusBorderSize = borderSize;
+        return fd;
     }
 }
@@ -11,7 +11,8 @@ public interface DismissListener {
      */
     void onDismiss(String id);
     /**
-     * is called when a {@link FancyShowCaseView} is skipped because of it's show once id
+     * is called when a {@link FancyShowCaseView} is skipped because of it's show once id, or
+     * because the RecyclerView item it focuses does not exist
      *
      * @param id the show once id of the dismissed view
      */
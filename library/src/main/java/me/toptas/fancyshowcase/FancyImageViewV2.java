@@ -4,48 +4,327 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffXfermode;
+import android.graphics.RadialGradient;
+import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.Region;
+import android.graphics.Shader;
 import android.os.Build;
 import android.support.v7.widget.AppCompatImageView;
 import android.util.AttributeSet;
+import android.widget.FrameLayout;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import me.toptas.fancyshowcase.core.FocusStore;
 
-public class FancyImageViewV2 extends AppCompatImageView {
 
-    private static final int ANIM_COUNTER_MAX = 20;
+public class FancyImageViewV2 extends AppCompatImageView {
 
     private Bitmap mBitmap;// rename to backgroundBitmap
     private Paint mBackgroundPaint;
     private Paint mErasePaint;
-    private Paint mBorderPaint;
-    private Path mPath;
-
-    private int mAnimCounter = 0;
-    private int mStep = 1;
+    private Paint mMaskPaint;
+    private Paint mFeatherPaint;
+    private Matrix mFeatherMatrix;
+    private Path mHolePath;
+    private RectF mRect;
+    private Rect mClipBounds;
+    private Rect mMovedBounds;
+    private Rect mMovedTmp;
+
+    private FocusPulse mPulse;
+    // draws the focus areas while they pulse, this view only draws the mask around it then
+    private FocusPulseView mPulseView;
+    private Rect mPulseBounds;
+    private boolean mPulseViewShown;
+    private LayerStrategy mLayerStrategy = LayerStrategy.DIRECT;
 
     private int mBackgroundColor = Color.TRANSPARENT;   // per FancyImageView
-    private boolean mAnimationEnabled;                  // per FancyImageView
     private double mAnimMoveFactor = 1;                 // per FancyImageView
+    private MaskRenderMode mMaskRenderMode = MaskRenderMode.BITMAP;
 
     private List<FocusDescriptor> focusDescriptors;
+    // packed focus areas, read index by index when drawing
+    private FocusStore mStore = new FocusStore();
+    // number of focus areas the per area arrays below were compiled for
+    private int mCompiledSize;
+    private int[] mBorderStyles = new int[0];
+    // soft edge gradients per focus area and whole pixel pulse offset, only translated when drawn
+    private Shader[][] mFeatherShaders = new Shader[0][];
+    // a soft edge overlaps another hole, DIRECT then erases the holes in a layer like the other modes
+    private boolean mFeathersOverlap;
+    private boolean[] mVisible = new boolean[0];
+    // one paint and one batched path per distinct border color and size
+    private Paint[] mBorderPaints = new Paint[0];
+    private Path[] mBorderPaths = new Path[0];
 
 
     public void setMaskLayerColor(int color) {
         mBackgroundColor = color;
+        mMaskPaint.setColor(color);
+        compileFeathers();
+    }
+
+    public void setMaskRenderMode(MaskRenderMode maskRenderMode) {
+        mMaskRenderMode = maskRenderMode;
+        compileFeathers();
     }
 
     public void setAnimationEnable(boolean enable) {
-        mAnimationEnabled = enable;
+        mPulse.setEnabled(enable);
+        updatePulseView();
+    }
+
+    /**
+     * @param cycles number of pulses before the focus animation stops, {@link FocusPulse#INFINITE}
+     *               to pulse until dismissed
+     */
+    public void setAnimationCycles(int cycles) {
+        mPulse.setCycles(cycles);
+        updatePulseView();
+    }
+
+    /**
+     * Moves the pulse to the given offset like an animation frame, e.g. in tests
+     *
+     * @param offset growth of the focus areas in pixels
+     */
+    void setPulseOffset(float offset) {
+        mPulse.setOffset(offset);
+    }
+
+    /**
+     * @param pulseView view drawing the focus areas while they pulse, a sibling laid out over this
+     *                  view by a FrameLayout
+     */
+    void setPulseView(FocusPulseView pulseView) {
+        mPulseView = pulseView;
+        mPulse.setFrameView(pulseView);
+        updatePulseView();
     }
 
     public void setFocusDescriptors(List<FocusDescriptor> focusDescriptors) {
         this.focusDescriptors = focusDescriptors;
+        compileRecords();
+        invalidate();
+        if (mPulseViewShown) {
+            mPulseView.invalidate();
+        }
+    }
+
+    /**
+     * Packs the focus descriptors into a {@link FocusStore} and updates the pulse bounds, so that
+     * drawing a frame does not touch the descriptors at all. Focus areas sharing a border color and
+     * size share a border style, all borders of a style are stroked with a single path.
+     */
+    private void compileRecords() {
+        mStore = FocusDescriptorList.storeOf(focusDescriptors);
+        int size = mStore.size();
+        mCompiledSize = size;
+        List<Paint> borderPaints = new ArrayList<>();
+        mBorderStyles = new int[size];
+        for (int i = 0; i < size; i++) {
+            mBorderStyles[i] = mStore.borderSize(i) > 0
+                    ? borderStyle(borderPaints, mStore.borderColor(i), mStore.borderSize(i)) : -1;
+        }
+        mVisible = new boolean[size];
+        mFeatherShaders = new Shader[size][];
+        compileFeathers();
+
+        mBorderPaints = borderPaints.toArray(new Paint[borderPaints.size()]);
+        mBorderPaths = new Path[mBorderPaints.length];
+        for (int i = 0; i < mBorderPaths.length; i++) {
+            mBorderPaths[i] = new Path();
+        }
+        updatePulseView();
+    }
+
+    /**
+     * Creates the soft edge gradients for the current render mode. Erasing modes punch the gradient
+     * out of the mask, {@link MaskRenderMode#DIRECT} leaves the soft edge out of the mask and draws
+     * the gradient in the background color instead. A gradient drawn over the mask adds up where
+     * it covers another hole or soft edge, while erasing multiplies, so DIRECT erases too if a soft
+     * edge overlaps another hole.
+     */
+    private void compileFeathers() {
+        mFeathersOverlap = feathersOverlap();
+        boolean erase = erasesFeathers();
+        for (int i = 0; i < mFeatherShaders.length; i++) {
+            compileFeather(i);
+        }
+        mFeatherPaint.setXfermode(erase ? new PorterDuffXfermode(PorterDuff.Mode.DST_OUT) : null);
+    }
+
+    /**
+     * @return true if the bounds of a soft edge overlap those of another hole at any pulse offset
+     */
+    private boolean feathersOverlap() {
+        int size = mFeatherShaders.length;
+        int steps = featherSteps();
+        for (int i = 0; i < size; i++) {
+            if (!mStore.hasHole(i) || mStore.feather(i) <= 0) {
+                continue;
+            }
+            float left = mStore.boundsLeft(i, steps);
+            float top = mStore.boundsTop(i, steps);
+            float right = mStore.boundsRight(i, steps);
+            float bottom = mStore.boundsBottom(i, steps);
+            for (int j = 0; j < size; j++) {
+                if (j != i && mStore.hasHole(j) && mStore.intersects(j, left, top, right, bottom, steps, 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if soft edges are erased from the mask rather than drawn over it
+     */
+    private boolean erasesFeathers() {
+        return mMaskRenderMode != MaskRenderMode.DIRECT || mFeathersOverlap;
+    }
+
+    /**
+     * Creates one gradient per whole pixel pulse offset, each solid up to the pulsed hole radius and
+     * fading out over exactly the feather width. Scaling a single gradient would also scale the
+     * solid part and the feather, so the hole would no longer match its border.
+     */
+    private void compileFeather(int i) {
+        int feather = mStore.feather(i);
+        if (feather <= 0) {
+            mFeatherShaders[i] = null;
+            return;
+        }
+        boolean erase = erasesFeathers();
+        int innerColor = erase ? Color.BLACK : mBackgroundColor & 0x00FFFFFF;
+        int outerColor = erase ? Color.TRANSPARENT : mBackgroundColor;
+        Shader[] shaders = new Shader[featherSteps() + 1];
+        for (int step = 0; step < shaders.length; step++) {
+            float radius = mStore.radius(i, step);
+            shaders[step] = new RadialGradient(0, 0, radius + feather, new int[]{innerColor, innerColor, outerColor},
+                    new float[]{0, radius / (radius + feather), 1}, Shader.TileMode.CLAMP);
+        }
+        mFeatherShaders[i] = shaders;
+    }
+
+    /**
+     * @return largest pulse offset of a feathered focus area in whole pixels
+     */
+    private int featherSteps() {
+        return (int) Math.ceil(FocusPulse.AMPLITUDE * mAnimMoveFactor);
+    }
+
+    /**
+     * @return pulse offset of a focus area, rounded to whole pixels for feathered ones so that
+     * their hole, feather and border use one of the compiled gradients exactly
+     */
+    private float areaOffset(int i, float offset) {
+        if (mStore.feather(i) == 0) {
+            return offset;
+        }
+        return Math.min(Math.round(offset), featherSteps());
+    }
+
+    /**
+     * Updates a single focus area whose target moved and invalidates only the area it left and the
+     * area it moved to, the other focus areas are not touched
+     *
+     * @param i  index of the focus area
+     * @param fd descriptor with the new position
+     */
+    void moveFocusArea(int i, FocusDescriptor fd) {
+        if (i >= mCompiledSize) {
+            return;
+        }
+        focusAreaDirtyBounds(i, mMovedBounds);
+        float radius = mStore.radius(i, 0);
+        int feather = mStore.feather(i);
+        fd.writeTo(mStore, i);
+        focusAreaDirtyBounds(i, mMovedTmp);
+        mMovedBounds.union(mMovedTmp);
+
+        // the gradients are centered when drawn, only a new size or overlap needs new ones
+        if (feathersOverlap() != mFeathersOverlap) {
+            compileFeathers();
+        } else if (mStore.feather(i) > 0 && (mStore.radius(i, 0) != radius || mStore.feather(i) != feather)) {
+            compileFeather(i);
+        }
+        updatePulseView();
+        invalidate(mMovedBounds);
+        if (mPulseViewShown) {
+            mPulseView.invalidate();
+        }
+    }
+
+    /**
+     * @param out receives the bounds of the focus area at any pulse offset, with border
+     */
+    private void focusAreaDirtyBounds(int i, Rect out) {
+        mRect.set(mStore.boundsLeft(i, 0), mStore.boundsTop(i, 0), mStore.boundsRight(i, 0),
+                mStore.boundsBottom(i, 0));
+        mRect.roundOut(out);
+        int outset = FocusPulse.outset(mAnimMoveFactor, borderSize(i));
+        out.inset(-outset, -outset);
+    }
+
+    /**
+     * @return index of the border paint with given color and size, added if there is none yet
+     */
+    private static int borderStyle(List<Paint> borderPaints, int color, int size) {
+        for (int i = 0; i < borderPaints.size(); i++) {
+            Paint paint = borderPaints.get(i);
+            if (paint.getColor() == color && paint.getStrokeWidth() == size) {
+                return i;
+            }
+        }
+        Paint paint = new Paint();
+        paint.setAntiAlias(true);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setColor(color);
+        paint.setStrokeWidth(size);
+        borderPaints.add(paint);
+        return borderPaints.size() - 1;
+    }
+
+    /**
+     * Lays the pulse view out over the union of all focus areas grown by the pulse amplitude and
+     * border while they pulse, so a pulse frame redraws only that view. Hidden if nothing pulses.
+     */
+    private void updatePulseView() {
+        if (mPulseView == null) {
+            return;
+        }
+        boolean shown = mPulse.isActive() && mStore.size() > 0;
+        if (shown) {
+            mPulseBounds.setEmpty();
+            for (int i = 0; i < mStore.size(); i++) {
+                focusAreaDirtyBounds(i, mMovedTmp);
+                mPulseBounds.union(mMovedTmp);
+            }
+            FrameLayout.LayoutParams params = (FrameLayout.LayoutParams) mPulseView.getLayoutParams();
+            if (params == null || params.width != mPulseBounds.width() || params.height != mPulseBounds.height()
+                    || params.leftMargin != mPulseBounds.left + getLeft()
+                    || params.topMargin != mPulseBounds.top + getTop()) {
+                params = new FrameLayout.LayoutParams(mPulseBounds.width(), mPulseBounds.height());
+                params.leftMargin = mPulseBounds.left + getLeft();
+                params.topMargin = mPulseBounds.top + getTop();
+                mPulseView.setLayoutParams(params);
+            }
+        }
+        mPulseView.setVisibility(shown ? VISIBLE : GONE);
+        if (shown != mPulseViewShown) {
+            mPulseViewShown = shown;
+            updateLayerStrategy();
+            invalidate();
+        }
     }
 
 
@@ -67,29 +346,98 @@ public class FancyImageViewV2 extends AppCompatImageView {
 
     private void init() {
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-            setLayerType(LAYER_TYPE_HARDWARE, null);
-        }
 
         setWillNotDraw(false);
 
         setBackgroundColor(Color.TRANSPARENT);
 
-        mPath = new Path();
+        mRect = new RectF();
+        mClipBounds = new Rect();
+        mMovedBounds = new Rect();
+        mMovedTmp = new Rect();
+        mPulseBounds = new Rect();
+        mHolePath = new Path();
+
+        mMaskPaint = new Paint();
+        mMaskPaint.setAntiAlias(true);
+        mMaskPaint.setColor(mBackgroundColor);
+
+        mFeatherPaint = new Paint();
+        mFeatherPaint.setAntiAlias(true);
+        mFeatherMatrix = new Matrix();
 
         mBackgroundPaint = new Paint();
         mBackgroundPaint.setAntiAlias(true);
         mBackgroundPaint.setColor(mBackgroundColor);
         mBackgroundPaint.setAlpha(0xFF);
 
-        mBorderPaint = new Paint();
-        mBorderPaint.setAntiAlias(true);
-        mBorderPaint.setStyle(Paint.Style.STROKE);
-
         mErasePaint = new Paint();
         mErasePaint.setAntiAlias(true);
         mErasePaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
         mErasePaint.setAlpha(0xFF);
+
+        mPulse = new FocusPulse(this, new Runnable() {
+            @Override
+            public void run() {
+                // all cycles are done, the dim layer draws the focus areas again
+                updatePulseView();
+            }
+        });
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        compileRecords();
+        mPulse.onAttachedToWindow();
+        updateLayerStrategy();
+    }
+
+    /**
+     * Keeps a hardware layer only on the view that erases holes from the bitmap, which needs a
+     * layer of its own: the pulse view while it is shown, otherwise this view. A pulse does not
+     * pay for a layer of the whole mask, the dirty rectangle is ignored from API 21 on, so every
+     * pulse frame would re-rasterize all of it.
+     */
+    private void updateLayerStrategy() {
+        boolean erase = mMaskRenderMode != MaskRenderMode.DIRECT;
+        mLayerStrategy = erase ? LayerStrategy.OFFSCREEN : LayerStrategy.DIRECT;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+            setLayerType(erase && !mPulseViewShown ? LAYER_TYPE_HARDWARE : LAYER_TYPE_NONE, null);
+            if (mPulseView != null) {
+                mPulseView.setLayerType(erase && mPulseViewShown ? LAYER_TYPE_HARDWARE : LAYER_TYPE_NONE, null);
+            }
+        }
+    }
+
+    /**
+     * @return {@link LayerStrategy#OFFSCREEN} if the view or its pulse view holds a hardware layer,
+     * otherwise {@link LayerStrategy#DIRECT}
+     */
+    LayerStrategy getLayerStrategy() {
+        return mLayerStrategy;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        mPulse.onDetachedFromWindow();
+        if (mBitmap != null) {
+            MaskBitmapPool.getInstance().release(mBitmap);
+            mBitmap = null;
+        }
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        mPulse.onWindowFocusChanged(hasWindowFocus);
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        mPulse.onWindowVisibilityChanged(visibility);
     }
 
 
@@ -98,83 +446,161 @@ public class FancyImageViewV2 extends AppCompatImageView {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        if (mBitmap == null) {
-            mBitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
-            mBitmap.eraseColor(mBackgroundColor);
+        if (mStore.size() != mCompiledSize) {
+            // focus descriptors were added to the shared store while shown
+            compileRecords();
+        }
+        if (!mPulseViewShown) {
+            drawFocusAreas(canvas);
+            return;
+        }
+        // all focus areas are inside the pulse view, only the mask around it is left
+        canvas.clipRect(mPulseBounds, Region.Op.DIFFERENCE);
+        if (mMaskRenderMode != MaskRenderMode.DIRECT && mBitmap == null) {
+            createMaskBitmap();
+        }
+        if (mMaskRenderMode == MaskRenderMode.DIRECT) {
+            canvas.drawPaint(mMaskPaint);
+        } else {
+            canvas.drawBitmap(mBitmap, 0, 0, mBackgroundPaint);
+        }
+    }
 
+    /**
+     * Draws the mask and all focus areas in a fixed number of draw calls: holes are merged into
+     * one path, borders into one path per border style, soft edges take one gradient draw each,
+     * and focus areas outside of the visible canvas are skipped. {@link MaskRenderMode#DIRECT}
+     * erases in a layer of the visible canvas instead if soft edges overlap other holes.
+     *
+     * @param canvas canvas in the coordinates of this view
+     */
+    void drawFocusAreas(Canvas canvas) {
+        if (!canvas.getClipBounds(mClipBounds)) {
+            return;
         }
 
-        canvas.drawBitmap(mBitmap, 0, 0, mBackgroundPaint);
+        if (mMaskRenderMode != MaskRenderMode.DIRECT && mBitmap == null) {
+            createMaskBitmap();
+        }
+        boolean direct = mMaskRenderMode == MaskRenderMode.DIRECT;
+        boolean erase = erasesFeathers();
 
+        float offset = pulseOffset();
+        mHolePath.reset();
+        for (Path path : mBorderPaths) {
+            path.reset();
+        }
 
-        if (focusDescriptors != null) {
-            for (FocusDescriptor fd : focusDescriptors) {
-                if (fd.focusShape.equals(FocusShape.CIRCLE)) {
-                    drawCircle(canvas, fd);
-                } else {
-                    drawRoundedRectangle(canvas, fd);
+        FocusStore store = mStore;
+        int size = mCompiledSize;
+        for (int i = 0; i < size; i++) {
+            float areaOffset = areaOffset(i, offset);
+            mVisible[i] = store.intersects(i, mClipBounds.left, mClipBounds.top, mClipBounds.right,
+                    mClipBounds.bottom, areaOffset, borderSize(i) / 2f + 1);
+            if (!mVisible[i]) {
+                continue;
+            }
+            if (store.hasHole(i)) {
+                if (store.feather(i) == 0) {
+                    addShape(mHolePath, i, areaOffset);
+                } else if (!erase) {
+                    // the mask stops at the outer edge, the gradient covers the rest
+                    mHolePath.addCircle(store.centerX(i), store.centerY(i),
+                            store.radius(i, areaOffset) + store.feather(i), Path.Direction.CW);
                 }
             }
-        }
-
-
-        if (mAnimationEnabled) {
-            if (mAnimCounter == ANIM_COUNTER_MAX) {
-                mStep = -1;
-            } else if (mAnimCounter == 0) {
-                mStep = 1;
+            if (mBorderStyles[i] >= 0) {
+                addShape(mBorderPaths[mBorderStyles[i]], i, areaOffset);
             }
-            mAnimCounter = mAnimCounter + mStep;
-            postInvalidate();
         }
-    }
 
-
-    private void drawCircle(Canvas canvas, FocusDescriptor fd) {
-
-        float radius = (float) (fd.circleRadius + fd.circlePadding + mAnimCounter * mAnimMoveFactor);
-
-        if (fd.noHole) {
-            // if no hole, dont make hole
+        int layer = -1;
+        if (!erase) {
+            // the background color is drawn around the holes, pixels are the same as erasing them
+            mHolePath.setFillType(Path.FillType.INVERSE_WINDING);
+            canvas.drawPath(mHolePath, mMaskPaint);
         } else {
-            canvas.drawCircle(fd.centerX, fd.centerY, radius, mErasePaint);
+            if (direct) {
+                layer = canvas.saveLayer(mClipBounds.left, mClipBounds.top, mClipBounds.right,
+                        mClipBounds.bottom, null, Canvas.ALL_SAVE_FLAG);
+                canvas.drawPaint(mMaskPaint);
+            } else {
+                canvas.drawBitmap(mBitmap, 0, 0, mBackgroundPaint);
+            }
+            if (!mHolePath.isEmpty()) {
+                mHolePath.setFillType(Path.FillType.WINDING);
+                canvas.drawPath(mHolePath, mErasePaint);
+            }
         }
 
-        if (fd.focusBorderSize > 0) {
-            mBorderPaint.setColor(fd.focusBorderColor);
-            mBorderPaint.setStrokeWidth(fd.focusBorderSize);
-            mPath.reset();
-            mPath.moveTo(fd.centerX, fd.centerY);
-            mPath.addCircle(fd.centerX, fd.centerY, radius, Path.Direction.CW);
-            canvas.drawPath(mPath, mBorderPaint);
+        for (int i = 0; i < size; i++) {
+            if (mVisible[i] && store.hasHole(i) && store.feather(i) > 0) {
+                drawFeather(canvas, i, areaOffset(i, offset));
+            }
+        }
+        if (layer >= 0) {
+            canvas.restoreToCount(layer);
         }
 
+        for (int i = 0; i < mBorderPaths.length; i++) {
+            if (!mBorderPaths[i].isEmpty()) {
+                canvas.drawPath(mBorderPaths[i], mBorderPaints[i]);
+            }
+        }
     }
 
+    /**
+     * Creates or reuses the backing bitmap, falls back to {@link MaskRenderMode#DIRECT} if there is no
+     * memory for it at all
+     */
+    private void createMaskBitmap() {
+        mBitmap = Utils.createMaskBitmap(getContext(), getWidth(), getHeight(), mMaskRenderMode);
+        if (mBitmap == null) {
+            mMaskRenderMode = MaskRenderMode.DIRECT;
+            compileFeathers();
+        } else if (mBitmap.getConfig() == Bitmap.Config.ALPHA_8) {
+            // full coverage, the paint tints it with the background color
+            mBitmap.eraseColor(Color.BLACK);
+            mBackgroundPaint.setColor(mBackgroundColor);
+        } else {
+            mBitmap.eraseColor(mBackgroundColor);
+        }
+    }
 
-    private void drawRoundedRectangle(Canvas canvas, FocusDescriptor fd) {
-
-        float left = (float) (fd.centerX - fd.rectWidth / 2d - fd.roundRectPaddingLeft - mAnimCounter * mAnimMoveFactor);
-        float right = (float) (fd.centerX + fd.rectWidth / 2d + fd.roundRectPaddingRight + mAnimCounter * mAnimMoveFactor);
-        float top = (float) (fd.centerY - fd.rectHeight / 2d - fd.roundRectPaddingTop - mAnimCounter * mAnimMoveFactor);
-        float bottom = (float) (fd.centerY + fd.rectHeight / 2d + fd.roundRectPaddingBottom + mAnimCounter * mAnimMoveFactor);
-
-        RectF rectF = new RectF();
-        rectF.set(left, top, right, bottom);
+    /**
+     * Draws the soft edge of a circle hole with the cached gradient of its pulse offset, moved to
+     * the circle's center
+     *
+     * @param offset whole pixel pulse offset, see {@link #areaOffset(int, float)}
+     */
+    private void drawFeather(Canvas canvas, int i, float offset) {
+        float outer = mStore.radius(i, offset) + mStore.feather(i);
+        Shader shader = mFeatherShaders[i][(int) offset];
+        mFeatherMatrix.setTranslate(mStore.centerX(i), mStore.centerY(i));
+        shader.setLocalMatrix(mFeatherMatrix);
+        mFeatherPaint.setShader(shader);
+        canvas.drawCircle(mStore.centerX(i), mStore.centerY(i), outer, mFeatherPaint);
+    }
 
-        if (fd.noHole) {
-            // if no hole, dont make hole
+    private void addShape(Path path, int i, float offset) {
+        if (mStore.isCircle(i)) {
+            path.addCircle(mStore.centerX(i), mStore.centerY(i), mStore.radius(i, offset), Path.Direction.CW);
         } else {
-            canvas.drawRoundRect(rectF, fd.roundRectRadius, fd.roundRectRadius, mErasePaint);
+            mRect.set(mStore.rectLeft(i, offset), mStore.rectTop(i, offset), mStore.rectRight(i, offset),
+                    mStore.rectBottom(i, offset));
+            float cornerRadius = mStore.cornerRadius(i);
+            path.addRoundRect(mRect, cornerRadius, cornerRadius, Path.Direction.CW);
         }
+    }
 
-        if (fd.focusBorderSize > 0) {
-            mBorderPaint.setColor(fd.focusBorderColor);
-            mBorderPaint.setStrokeWidth(fd.focusBorderSize);
-            mPath.reset();
-            mPath.moveTo(fd.centerX, fd.centerY);
-            mPath.addRoundRect(rectF, fd.roundRectRadius, fd.roundRectRadius, Path.Direction.CW);
-            canvas.drawPath(mPath, mBorderPaint);
-        }
+    /**
+     * @return stroke width of the focus area's border, 0 if it has none
+     */
+    private int borderSize(int i) {
+        return mBorderStyles[i] >= 0 ? mStore.borderSize(i) : 0;
+    }
+
+    private float pulseOffset() {
+        return (float) (mPulse.getOffset() * mAnimMoveFactor);
     }
 }
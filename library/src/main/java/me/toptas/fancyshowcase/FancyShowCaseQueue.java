@@ -5,11 +5,13 @@ import java.util.Queue;
 
 /**
  * Handles queues of {@link FancyShowCaseView} so that they are shown one after another
- * takes care to skip views that should not be shown because of their one shot id
+ * takes care to skip views that should not be shown because of their one shot id.
+ * Steps added as {@link FancyShowCaseSpec} are created when their turn comes and released once
+ * they are dismissed.
  */
 public class FancyShowCaseQueue implements DismissListener {
 
-    private Queue<FancyShowCaseView> mQueue;
+    private Queue<FancyShowCaseSpec> mQueue;
     private DismissListener mCurrentOriginalDismissListener;
     private FancyShowCaseView mCurrent;
 
@@ -28,7 +30,18 @@ public class FancyShowCaseQueue implements DismissListener {
      * @return Builder
      */
     public FancyShowCaseQueue add(FancyShowCaseView showCaseView) {
-        mQueue.add(showCaseView);
+        mQueue.add(FancyShowCaseSpec.of(showCaseView));
+        return this;
+    }
+
+    /**
+     * Adds a step to the queue, its view is created when it is shown
+     *
+     * @param spec spec of the view that should be added to the queue
+     * @return Builder
+     */
+    public FancyShowCaseQueue add(FancyShowCaseSpec spec) {
+        mQueue.add(spec);
         return this;
     }
 
@@ -36,11 +49,16 @@ public class FancyShowCaseQueue implements DismissListener {
      * Starts displaying all views in order of their insertion in the queue, one after another
      */
     public void show() {
-        if (!mQueue.isEmpty()) {
-            mCurrent = mQueue.poll();
+        while (!mQueue.isEmpty()) {
+            mCurrent = mQueue.poll().createView();
+            if (mCurrent == null) {
+                // the activity of the step is gone
+                continue;
+            }
             mCurrentOriginalDismissListener = mCurrent.getDismissListener();
             mCurrent.setDismissListener(this);
             mCurrent.show();
+            return;
         }
     }
 
@@ -59,17 +77,31 @@ public class FancyShowCaseQueue implements DismissListener {
 
     @Override
     public void onDismiss(String id) {
-        if (mCurrentOriginalDismissListener != null) {
-            mCurrentOriginalDismissListener.onDismiss(id);
+        DismissListener listener = release();
+        if (listener != null) {
+            listener.onDismiss(id);
         }
         show();
     }
 
     @Override
     public void onSkipped(String id) {
-        if (mCurrentOriginalDismissListener != null) {
-            mCurrentOriginalDismissListener.onSkipped(id);
+        DismissListener listener = release();
+        if (listener != null) {
+            listener.onSkipped(id);
         }
         show();
     }
+
+    /**
+     * Drops the references to the finished step
+     *
+     * @return original dismiss listener of the finished step
+     */
+    private DismissListener release() {
+        DismissListener listener = mCurrentOriginalDismissListener;
+        mCurrent = null;
+        mCurrentOriginalDismissListener = null;
+        return listener;
+    }
 }
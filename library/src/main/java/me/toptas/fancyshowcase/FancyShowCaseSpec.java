@@ -0,0 +1,88 @@
+package me.toptas.fancyshowcase;
+
+import android.app.Activity;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Immutable parameters of a {@link FancyShowCaseView}, built by
+ * {@link FancyShowCaseView.Builder#buildSpec()}. Unlike the view, a spec is cheap to keep around:
+ * the view hierarchy is created only when the spec is shown, and the activity, the focused view
+ * and the list of a {@link RecyclerViewTarget} are held weakly.
+ * <p>
+ * The listeners and the show once store are held as given, weak references would let listeners
+ * that nothing else references be collected. A listener created as an inner class of the activity
+ * therefore keeps the activity alive for as long as the spec is referenced. A
+ * {@link FancyShowCaseQueue} drops each spec once its step is dismissed or skipped; keep other
+ * specs no longer than their activity, or use listeners that do not reference it.
+ * <p>
+ * Every view gets its own default fade animations. Animations given to the builder are shared by
+ * the views of a spec, the library does not change them.
+ * <pre>
+ * new FancyShowCaseQueue()
+ *         .add(new FancyShowCaseView.Builder(activity).title("First").buildSpec())
+ *         .add(new FancyShowCaseView.Builder(activity).title("Second").buildSpec())
+ *         .show();
+ * </pre>
+ */
+
+public final class FancyShowCaseSpec {
+
+    private final FancyShowCaseView.Builder mParams;
+    private final WeakReference<Activity> mActivity;
+    private final WeakReference<View> mView;
+
+    // built view wrapped by FancyShowCaseQueue#add(FancyShowCaseView), null for specs
+    private final FancyShowCaseView mBuiltView;
+
+    FancyShowCaseSpec(FancyShowCaseView.Builder builder) {
+        mActivity = new WeakReference<>(builder.getActivity());
+        mView = new WeakReference<>(builder.getView());
+        mParams = new FancyShowCaseView.Builder(builder).attach(null, null);
+        mBuiltView = null;
+    }
+
+    private FancyShowCaseSpec(FancyShowCaseView builtView) {
+        mActivity = null;
+        mView = null;
+        mParams = null;
+        mBuiltView = builtView;
+    }
+
+    /**
+     * Wraps a view built the old way, so queues can hold both
+     */
+    static FancyShowCaseSpec of(FancyShowCaseView builtView) {
+        return new FancyShowCaseSpec(builtView);
+    }
+
+    /**
+     * Creates a new view with the parameters of this spec
+     *
+     * @return new view, null if the activity is gone
+     */
+    public FancyShowCaseView createView() {
+        if (mBuiltView != null) {
+            return mBuiltView;
+        }
+        Activity activity = mActivity.get();
+        if (activity == null) {
+            return null;
+        }
+        return new FancyShowCaseView.Builder(mParams).attach(activity, mView.get()).newView();
+    }
+
+    /**
+     * Creates and shows a new view with the parameters of this spec
+     *
+     * @return the shown view, null if the activity is gone
+     */
+    public FancyShowCaseView show() {
+        FancyShowCaseView view = createView();
+        if (view != null) {
+            view.show();
+        }
+        return view;
+    }
+}
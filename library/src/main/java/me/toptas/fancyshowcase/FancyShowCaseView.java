@@ -8,6 +8,7 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.graphics.Bitmap;
 import android.os.Build;
+import android.support.annotation.AnimRes;
 import android.support.annotation.AttrRes;
 import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
@@ -30,6 +31,9 @@ import android.widget.TextView;
 import java.util.ArrayList;
 import java.util.List;
 
+import me.toptas.fancyshowcase.core.AsyncShowOnceStore;
+import me.toptas.fancyshowcase.core.ShowOnceStore;
+
 /**
  * Created by faruktoptas on 05/03/17.
  * FancyShowCaseView class
@@ -49,28 +53,57 @@ public class FancyShowCaseView extends FrameLayout {
 
     // Tag for container view
     private static final String CONTAINER_TAG = "ShowCaseViewTag";
-    // SharedPreferences name
-    private static final String PREF_NAME = "PrefShowCaseView";
+    // Round rectangle radius of the Builder focus area if none is given
+    private static final int DEFAULT_ROUND_RECT_RADIUS = 20;
+
+    // show once store of the overlays without their own, SharedPreferences if none is set
+    private static ShowOnceStore sDefaultShowOnceStore;
 
     /**
      * Resets the show once flag
      *
-     * @param context context that should be used to create the shared preference instance
+     * @param context context that should be used to create the default store
      * @param id      id of the show once flag that should be reset
      */
     public static void resetShowOnce(Context context, String id) {
-        SharedPreferences sharedPrefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        sharedPrefs.edit().remove(id).commit();
+        defaultShowOnceStore(context).reset(id);
     }
 
     /**
      * Resets all show once flags
      *
-     * @param context context that should be used to create the shared preference instance
+     * @param context context that should be used to create the default store
      */
     public static void resetAllShowOnce(Context context) {
-        SharedPreferences sharedPrefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        sharedPrefs.edit().clear().commit();
+        defaultShowOnceStore(context).resetAll();
+    }
+
+    /**
+     * @param store show once store of all overlays without their own, e.g. a
+     *              {@link me.toptas.fancyshowcase.core.FileShowOnceStore}
+     */
+    public static synchronized void setDefaultShowOnceStore(ShowOnceStore store) {
+        sDefaultShowOnceStore = store;
+    }
+
+    /**
+     * Starts loading the show once flags of the default store in the background, e.g. from
+     * Application#onCreate. An overlay with a show once id needs its flag in show(), if the flags
+     * are still loading then, which on a cold start can take a disk read, it is shown once they
+     * are loaded. A Builder with a show once id and no store of its own starts loading them when
+     * it builds.
+     *
+     * @param context any context of the application
+     */
+    public static void warmUp(Context context) {
+        defaultShowOnceStore(context);
+    }
+
+    private static synchronized ShowOnceStore defaultShowOnceStore(Context context) {
+        if (sDefaultShowOnceStore == null) {
+            sDefaultShowOnceStore = SharedPreferencesShowOnceStore.getInstance(context);
+        }
+        return sDefaultShowOnceStore;
     }
 
     /**
@@ -102,11 +135,17 @@ public class FancyShowCaseView extends FrameLayout {
     private int mAnimationDuration = 400;
     private int mCenterX, mCenterY, mRadius;
     private ViewGroup mRoot;
-    private SharedPreferences mSharedPreferences;
+    private ShowOnceStore mShowOnceStore;
 
     private int mFocusPositionX, mFocusPositionY, mFocusCircleRadius, mFocusRectangleWidth, mFocusRectangleHeight;
 
     private boolean mFocusAnimationEnabled;
+    private int mFocusAnimationCycles = FocusPulse.INFINITE;
+
+    private MaskRenderMode mMaskRenderMode = MaskRenderMode.BITMAP;
+    private boolean mTrackTargets;
+    private TargetTracker mTargetTracker;
+    private RecyclerViewTarget mItemTarget;
 
     private int roundRectPaddingLeft;
     private int roundRectPaddingTop;
@@ -119,10 +158,18 @@ public class FancyShowCaseView extends FrameLayout {
 
     private OnViewInflateListenerV3 mViewInflateListenerV3;
 
-    private List<FocusDescriptor> focusDescriptorList = new ArrayList<>();
+    private FocusDescriptorList focusDescriptorList = new FocusDescriptorList();
 
     private List<Runnable> onDismissListeners = new ArrayList<>();
 
+    // descriptors of the shown focus areas, either added ones or converted from Builder parameters
+    private FocusDescriptorList mFocusDescriptors;
+
+    private FancyImageViewV2 mImageView;
+    private boolean mTransitionLayer;
+    // the exit animation is running, the view is removed when it ends
+    private boolean mHiding;
+
     /**
      * Constructor for FancyShowCaseView
      *
@@ -211,7 +258,6 @@ public class FancyShowCaseView extends FrameLayout {
         int deviceHeight = displayMetrics.heightPixels;
         mCenterX = deviceWidth / 2;
         mCenterY = deviceHeight / 2;
-        mSharedPreferences = mActivity.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
     }
 
     public void setRoundRectPadding(int left, int top, int right, int bottom) {
@@ -241,12 +287,45 @@ public class FancyShowCaseView extends FrameLayout {
 
     public void addFocusDescriptor(FocusDescriptor fd) {
         focusDescriptorList.add(fd);
+        if (mImageView != null && mFocusDescriptors == focusDescriptorList) {
+            // already shown, the new focus area is compiled and drawn right away
+            mImageView.setFocusDescriptors(mFocusDescriptors);
+            if (mTargetTracker != null) {
+                mTargetTracker.captureAdded();
+            }
+        }
     }
 
     public void setFocusAnimationEnabled(boolean enabled) {
         mFocusAnimationEnabled = enabled;
     }
 
+    /**
+     * @param cycles number of focus pulses before the animation stops, negative to pulse until
+     *               dismissed
+     */
+    public void setFocusAnimationCycles(int cycles) {
+        mFocusAnimationCycles = cycles < 0 ? FocusPulse.INFINITE : cycles;
+    }
+
+    public void setMaskRenderMode(MaskRenderMode maskRenderMode) {
+        mMaskRenderMode = maskRenderMode;
+    }
+
+    /**
+     * @param trackTargets true to move the focus areas along with their target views while shown
+     */
+    public void setTrackTargets(boolean trackTargets) {
+        mTrackTargets = trackTargets;
+    }
+
+    /**
+     * @param itemTarget list item to focus instead of the view given to the constructor
+     */
+    public void setItemTarget(RecyclerViewTarget itemTarget) {
+        mItemTarget = itemTarget;
+    }
+
     public void setEnterAnimation(Animation animation) {
         mEnterAnimation = animation;
     }
@@ -255,10 +334,22 @@ public class FancyShowCaseView extends FrameLayout {
         this.mExitAnimation = animation;
     }
 
+    /**
+     * @param showOnceStore store of the show once flag of this overlay
+     */
+    public void setShowOnceStore(ShowOnceStore showOnceStore) {
+        mShowOnceStore = showOnceStore;
+    }
+
     public void addOnDismissListener(Runnable onDismissListener) {
         onDismissListeners.add(onDismissListener);
     }
 
+    /**
+     * @deprecated opens the given SharedPreferences on every dismiss, use
+     * {@link Builder#showOnce(String)}, which flags the overlay in its {@link ShowOnceStore}
+     */
+    @Deprecated
     public void putBoolPrefOnDismiss(final String prefFileName, final String prefKey, final boolean value) {
         addOnDismissListener(new Runnable() {
             @Override
@@ -273,6 +364,21 @@ public class FancyShowCaseView extends FrameLayout {
      * Shows FancyShowCaseView
      */
     public void show() {
+        if (mActivity != null && mId != null && !isShowOnceStoreLoaded()) {
+            // the main thread does not wait for the flags, the overlay is shown once they are loaded
+            ((AsyncShowOnceStore) showOnceStore()).whenLoaded(new Runnable() {
+                @Override
+                public void run() {
+                    mActivity.runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            show();
+                        }
+                    });
+                }
+            });
+            return;
+        }
         if (mActivity == null || (mId != null && isShownBefore())) {
             if (mDismissListener != null) {
                 mDismissListener.onSkipped(mId);
@@ -280,6 +386,26 @@ public class FancyShowCaseView extends FrameLayout {
             return;
         }
 
+        if (mItemTarget != null && mView == null) {
+            // shown again once the item is scrolled into view and bound
+            mItemTarget.bringIntoView(new Runnable() {
+                @Override
+                public void run() {
+                    mView = mItemTarget.findItemView();
+                    show();
+                }
+            }, new Runnable() {
+                @Override
+                public void run() {
+                    // skipped like an overlay shown before, so a queue moves on to the next one
+                    if (mDismissListener != null) {
+                        mDismissListener.onSkipped(mId);
+                    }
+                }
+            });
+            return;
+        }
+
         ViewGroup androidContent = (ViewGroup) mActivity.findViewById(android.R.id.content);
         mRoot = (ViewGroup) androidContent.getParent().getParent();
         FancyShowCaseView visibleView = (FancyShowCaseView) mRoot.findViewWithTag(CONTAINER_TAG);
@@ -301,72 +427,106 @@ public class FancyShowCaseView extends FrameLayout {
             setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
             mRoot.addView(this);
 
-            if (focusDescriptorList.size() > 0) {
+            mFocusDescriptors = focusDescriptorList.isEmpty() ? builderFocusDescriptors() : focusDescriptorList;
 
-                FancyImageViewV2 imageView = new FancyImageViewV2(mActivity);
-                imageView.setAnimationEnable(mFocusAnimationEnabled);
-                imageView.setMaskLayerColor(mBackgroundColor);
-                imageView.setFocusDescriptors(focusDescriptorList);
+            FancyImageViewV2 imageView = new FancyImageViewV2(mActivity);
+            mImageView = imageView;
+            imageView.setAnimationEnable(mFocusAnimationEnabled);
+            imageView.setAnimationCycles(mFocusAnimationCycles);
+            imageView.setMaskRenderMode(mMaskRenderMode);
+            imageView.setMaskLayerColor(mBackgroundColor);
+            imageView.setFocusDescriptors(mFocusDescriptors);
 
-                imageView.setLayoutParams(new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
-                        ViewGroup.LayoutParams.MATCH_PARENT));
+            imageView.setLayoutParams(new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.MATCH_PARENT));
 
-                addView(imageView);
+            addView(imageView);
 
-                if (mCustomViewRes == 0) {
-                    inflateTitleView();
-                } else {
-                    inflateCustomView(mCustomViewRes, mViewInflateListener);
-                }
+            FocusPulseView pulseView = new FocusPulseView(mActivity, imageView);
+            addView(pulseView);
+            imageView.setPulseView(pulseView);
 
+            if (mFocusDescriptors == focusDescriptorList && focusDescriptorList.hasLazyTargets()) {
+                // lazy targets are read right before the first frame, when layout has settled
+                getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+                    @Override
+                    public boolean onPreDraw() {
+                        getViewTreeObserver().removeOnPreDrawListener(this);
+                        if (getParent() == null) {
+                            return true;
+                        }
+                        focusDescriptorList.resolveLazyTargets(mActivity);
+                        mImageView.setFocusDescriptors(mFocusDescriptors);
+                        if (mTargetTracker != null) {
+                            mTargetTracker.captureLazyTargets();
+                        }
+                        inflateContent();
+                        // skip this frame, the inflated views are laid out in the next pass
+                        return false;
+                    }
+                });
             } else {
+                inflateContent();
+            }
 
-                FancyImageView imageView = new FancyImageView(mActivity);
-
-                Calculator mCalculator = new Calculator(mActivity, mFocusShape, mView, mFocusCircleRadiusFactor,
-                        mFitSystemWindows);
-
-                if (mCalculator.hasFocus()) {
-                    //Utils.drawFocusCircle(bitmap, focusPoint, focusPoint[2]);
-                    mCenterX = mCalculator.getCircleCenterX();
-                    mCenterY = mCalculator.getCircleCenterY();
-                    mRadius = mCalculator.getViewRadius();
-                }
+            if (mTrackTargets || mItemTarget != null) {
+                mTargetTracker = new TargetTracker(mFocusDescriptors, imageView);
+                getViewTreeObserver().addOnPreDrawListener(mTargetTracker);
+            }
 
+            startEnterAnimation();
+        }
+    }
 
-                imageView.setParameters(mBackgroundColor, mCalculator);
-                if (mFocusRectangleWidth > 0 && mFocusRectangleHeight > 0) {
-                    mCalculator.setRectPosition(mFocusPositionX, mFocusPositionY, mFocusRectangleWidth, mFocusRectangleHeight);
-                }
-                if (mFocusCircleRadius > 0) {
-                    mCalculator.setCirclePosition(mFocusPositionX, mFocusPositionY, mFocusCircleRadius);
-                }
-                mCalculator.setRoundRectPadding(roundRectPaddingLeft, roundRectPaddingTop, roundRectPaddingRight, roundRectPaddingBottom);
-                mCalculator.setCirclePadding(circlePadding);
-
-                imageView.setAnimationEnabled(mFocusAnimationEnabled);
-                imageView.setLayoutParams(new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
-                        ViewGroup.LayoutParams.MATCH_PARENT));
-                if (mFocusBorderColor != 0 && mFocusBorderSize > 0) {
-                    imageView.setBorderParameters(mFocusBorderColor, mFocusBorderSize);
-                }
-                if (mRoundRectRadius >= 0) {
-                    imageView.setRoundRectRadius(mRoundRectRadius);
-                }
-                //imageView.setImageBitmap(bitmap);
-                addView(imageView);
+    /**
+     * Inflates the title or the custom view
+     */
+    private void inflateContent() {
+        if (mCustomViewRes == 0) {
+            inflateTitleView();
+        } else {
+            inflateCustomView(mCustomViewRes, mViewInflateListener);
+        }
+    }
 
-                if (mCustomViewRes == 0) {
-                    inflateTitleView();
-                } else {
-                    inflateCustomView(mCustomViewRes, mViewInflateListener);
-                }
+    /**
+     * Converts the single focus area given through the Builder into a focus descriptor, so both
+     * APIs are drawn by the same {@link FancyImageViewV2}
+     *
+     * @return list with the focus descriptor, empty if nothing should be focused
+     */
+    private FocusDescriptorList builderFocusDescriptors() {
+        Calculator calculator = new Calculator(mActivity, mFocusShape, mView, mFocusCircleRadiusFactor,
+                mFitSystemWindows);
+
+        if (calculator.hasFocus()) {
+            mCenterX = calculator.getCircleCenterX();
+            mCenterY = calculator.getCircleCenterY();
+            mRadius = calculator.getViewRadius();
+        }
 
+        if (mFocusRectangleWidth > 0 && mFocusRectangleHeight > 0) {
+            calculator.setRectPosition(mFocusPositionX, mFocusPositionY, mFocusRectangleWidth, mFocusRectangleHeight);
+        }
+        if (mFocusCircleRadius > 0) {
+            calculator.setCirclePosition(mFocusPositionX, mFocusPositionY, mFocusCircleRadius);
+        }
+        calculator.setRoundRectPadding(roundRectPaddingLeft, roundRectPaddingTop, roundRectPaddingRight, roundRectPaddingBottom);
+        calculator.setCirclePadding(circlePadding);
+
+        FocusDescriptorList descriptors = new FocusDescriptorList();
+        if (calculator.hasFocus()) {
+            FocusDescriptor fd = calculator.toFocusDescriptor(
+                    mRoundRectRadius >= 0 ? mRoundRectRadius : DEFAULT_ROUND_RECT_RADIUS,
+                    mFocusBorderColor, mFocusBorderColor != 0 ? mFocusBorderSize : 0);
+            if (mItemTarget != null) {
+                fd.trackItem(mItemTarget);
+            } else if (mView != null && mFocusRectangleWidth <= 0 && mFocusCircleRadius <= 0) {
+                fd.trackTarget(mView);
             }
-
-            startEnterAnimation();
-            /*writeShown();*/
+            descriptors.add(fd);
         }
+        return descriptors;
     }
 
     /**
@@ -408,10 +568,70 @@ public class FancyShowCaseView extends FrameLayout {
 //        }
 
         if (mEnterAnimation != null) {
+            startTransitionLayer();
             startAnimation(mEnterAnimation);
         }
     }
 
+    /**
+     * Renders the whole overlay into a hardware layer while it fades in or out, instead of
+     * blending each child separately every frame
+     */
+    private void startTransitionLayer() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+            mTransitionLayer = true;
+            setLayerType(LAYER_TYPE_HARDWARE, null);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (mTargetTracker != null) {
+            getViewTreeObserver().removeOnPreDrawListener(mTargetTracker);
+            mTargetTracker = null;
+        }
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onAnimationEnd() {
+        super.onAnimationEnd();
+        if (mHiding) {
+            mHiding = false;
+            // called while the parent draws, the view is removed after this frame
+            post(new Runnable() {
+                @Override
+                public void run() {
+                    if (getParent() != null) {
+                        removeView();
+                    }
+                }
+            });
+        }
+        if (mTransitionLayer) {
+            // called while drawing, drop the layer after this frame
+            post(new Runnable() {
+                @Override
+                public void run() {
+                    if (mTransitionLayer && (getAnimation() == null || getAnimation().hasEnded())) {
+                        mTransitionLayer = false;
+                        setLayerType(LAYER_TYPE_NONE, null);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @return how the overlay currently uses offscreen layers
+     */
+    public LayerStrategy getLayerStrategy() {
+        if (mImageView != null && mImageView.getLayerStrategy() == LayerStrategy.OFFSCREEN) {
+            return LayerStrategy.OFFSCREEN;
+        }
+        return mTransitionLayer ? LayerStrategy.TRANSITION : LayerStrategy.DIRECT;
+    }
+
 
     /**
      * Hides FancyShowCaseView with animation
@@ -446,22 +666,10 @@ public class FancyShowCaseView extends FrameLayout {
         if (mExitAnimation == null) {
             removeView();
         } else {
-            mExitAnimation.setAnimationListener(new Animation.AnimationListener() {
-                @Override
-                public void onAnimationStart(Animation animation) {
-
-                }
-
-                @Override
-                public void onAnimationEnd(Animation animation) {
-                    removeView();
-                }
-
-                @Override
-                public void onAnimationRepeat(Animation animation) {
-
-                }
-            });
+            // the end is taken from onAnimationEnd(), a listener would replace the caller's one
+            // on an animation that other views may share
+            mHiding = true;
+            startTransitionLayer();
             startAnimation(mExitAnimation);
         }
     }
@@ -473,8 +681,13 @@ public class FancyShowCaseView extends FrameLayout {
      * @param viewInflateListener inflate listener for custom view
      */
     private void inflateCustomView(@LayoutRes int layout, OnViewInflateListener viewInflateListener) {
-        View view = mActivity.getLayoutInflater().inflate(layout, this, false);
-        this.addView(view);
+        // anchors of AutoPositionViewInflateListener are placed by the container in its layout pass
+        FocusAnchorLayout container = new FocusAnchorLayout(mActivity);
+        container.setLayoutParams(new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.MATCH_PARENT));
+        View view = mActivity.getLayoutInflater().inflate(layout, container, false);
+        container.addView(view);
+        this.addView(container);
         if (viewInflateListener != null) {
             viewInflateListener.onViewInflated(view);
         }
@@ -482,7 +695,7 @@ public class FancyShowCaseView extends FrameLayout {
             mViewInflateListenerV2.onViewInflated(view, mCenterX, mCenterY);
         }
         if (mViewInflateListenerV3 != null) {
-            mViewInflateListenerV3.onViewInflated(view, focusDescriptorList);
+            mViewInflateListenerV3.onViewInflated(view, mFocusDescriptors);
         }
     }
 
@@ -570,21 +783,35 @@ public class FancyShowCaseView extends FrameLayout {
     }
 
     /**
-     * Saves the FancyShowCaseView id to SharedPreferences that is shown once
+     * Saves the FancyShowCaseView id to the show once store
      */
     private void writeShown() {
-        SharedPreferences.Editor editor = mSharedPreferences.edit();
-        editor.putBoolean(mId, true);
-        editor.apply();
+        showOnceStore().markShown(mId);
+    }
+
+    /**
+     * @return false if the show once flags are still loading and a lookup would wait for them
+     */
+    private boolean isShowOnceStoreLoaded() {
+        ShowOnceStore store = showOnceStore();
+        return !(store instanceof AsyncShowOnceStore) || ((AsyncShowOnceStore) store).isLoaded();
     }
 
     /**
-     * Returns if FancyShowCaseView with given id is shown before
+     * Returns if FancyShowCaseView with given id is shown before. Waits for the show once flags if
+     * they are still loading, show() does not, see {@link #warmUp(Context)}.
      *
      * @return true if show before
      */
     public boolean isShownBefore() {
-        return mSharedPreferences.getBoolean(mId, false);
+        return showOnceStore().isShownBefore(mId);
+    }
+
+    private ShowOnceStore showOnceStore() {
+        if (mShowOnceStore == null) {
+            mShowOnceStore = defaultShowOnceStore(mActivity);
+        }
+        return mShowOnceStore;
     }
 
     /**
@@ -592,6 +819,9 @@ public class FancyShowCaseView extends FrameLayout {
      */
     public void removeView() {
         mRoot.removeView(this);
+        if (mId != null) {
+            writeShown();
+        }
         if (mDismissListener != null) {
             mDismissListener.onDismiss(mId);
         }
@@ -634,6 +864,8 @@ public class FancyShowCaseView extends FrameLayout {
         private OnViewInflateListener mViewInflateListener;
         private OnViewInflateListenerV2 mViewInflateListenerV2;
         private Animation mEnterAnimation, mExitAnimation;
+        // the default fades are loaded for every view, an animation must not be shared by two
+        private boolean mDefaultEnterAnimation = true, mDefaultExitAnimation = true;
         private boolean mCloseOnTouch = true;
         private boolean mFitSystemWindows;
         private FocusShape mFocusShape = FocusShape.CIRCLE;
@@ -641,6 +873,11 @@ public class FancyShowCaseView extends FrameLayout {
         private int mFocusBorderSize;
         private int mFocusPositionX, mFocusPositionY, mFocusCircleRadius, mFocusRectangleWidth, mFocusRectangleHeight;
         private boolean mFocusAnimationEnabled;
+        private int mFocusAnimationCycles = FocusPulse.INFINITE;
+        private MaskRenderMode mMaskRenderMode = MaskRenderMode.BITMAP;
+        private boolean mTrackTargets;
+        private RecyclerViewTarget mItemTarget;
+        private ShowOnceStore mShowOnceStore;
 
         private int roundRectPaddingLeft;
         private int roundRectPaddingTop;
@@ -656,14 +893,70 @@ public class FancyShowCaseView extends FrameLayout {
          */
         public Builder(Activity activity) {
             mActivity = activity;
+        }
 
-            Animation fadeIn = AnimationUtils.loadAnimation(mActivity, R.anim.fscv_fade_in);
-            fadeIn.setFillAfter(true);
-            mEnterAnimation = fadeIn;
+        /**
+         * Copies all parameters of the given builder
+         */
+        Builder(Builder other) {
+            mActivity = other.mActivity;
+            mView = other.mView;
+            mId = other.mId;
+            mTitle = other.mTitle;
+            mSpannedTitle = other.mSpannedTitle;
+            mFocusCircleRadiusFactor = other.mFocusCircleRadiusFactor;
+            mBackgroundColor = other.mBackgroundColor;
+            mFocusBorderColor = other.mFocusBorderColor;
+            mTitleGravity = other.mTitleGravity;
+            mTitleSize = other.mTitleSize;
+            mTitleSizeUnit = other.mTitleSizeUnit;
+            mTitleStyle = other.mTitleStyle;
+            mCustomViewRes = other.mCustomViewRes;
+            mRoundRectRadius = other.mRoundRectRadius;
+            mViewInflateListener = other.mViewInflateListener;
+            mViewInflateListenerV2 = other.mViewInflateListenerV2;
+            mEnterAnimation = other.mEnterAnimation;
+            mExitAnimation = other.mExitAnimation;
+            mDefaultEnterAnimation = other.mDefaultEnterAnimation;
+            mDefaultExitAnimation = other.mDefaultExitAnimation;
+            mCloseOnTouch = other.mCloseOnTouch;
+            mFitSystemWindows = other.mFitSystemWindows;
+            mFocusShape = other.mFocusShape;
+            mDismissListener = other.mDismissListener;
+            mFocusBorderSize = other.mFocusBorderSize;
+            mFocusPositionX = other.mFocusPositionX;
+            mFocusPositionY = other.mFocusPositionY;
+            mFocusCircleRadius = other.mFocusCircleRadius;
+            mFocusRectangleWidth = other.mFocusRectangleWidth;
+            mFocusRectangleHeight = other.mFocusRectangleHeight;
+            mFocusAnimationEnabled = other.mFocusAnimationEnabled;
+            mFocusAnimationCycles = other.mFocusAnimationCycles;
+            mMaskRenderMode = other.mMaskRenderMode;
+            mTrackTargets = other.mTrackTargets;
+            mItemTarget = other.mItemTarget;
+            mShowOnceStore = other.mShowOnceStore;
+            roundRectPaddingLeft = other.roundRectPaddingLeft;
+            roundRectPaddingTop = other.roundRectPaddingTop;
+            roundRectPaddingRight = other.roundRectPaddingRight;
+            roundRectPaddingBottom = other.roundRectPaddingBottom;
+            circlePadding = other.circlePadding;
+        }
+
+        Activity getActivity() {
+            return mActivity;
+        }
+
+        View getView() {
+            return mView;
+        }
 
-            Animation fadeOut = AnimationUtils.loadAnimation(mActivity, R.anim.fscv_fade_out);
-            fadeOut.setFillAfter(true);
-            mExitAnimation = fadeOut;
+        /**
+         * Sets the activity and the focused view, which a {@link FancyShowCaseSpec} keeps apart
+         */
+        Builder attach(Activity activity, View view) {
+            mActivity = activity;
+            mView = view;
+            return this;
         }
 
 
@@ -747,6 +1040,15 @@ public class FancyShowCaseView extends FrameLayout {
             return this;
         }
 
+        /**
+         * @param showOnceStore store of the show once flag, the default store if not set
+         * @return Builder
+         */
+        public Builder showOnceStore(ShowOnceStore showOnceStore) {
+            mShowOnceStore = showOnceStore;
+            return this;
+        }
+
         /**
          * @param view view to focus
          * @return Builder
@@ -756,6 +1058,18 @@ public class FancyShowCaseView extends FrameLayout {
             return this;
         }
 
+        /**
+         * Focuses a RecyclerView item, which is scrolled into view before showing and followed
+         * while shown
+         *
+         * @param itemTarget list item to focus
+         * @return Builder
+         */
+        public Builder focusOn(RecyclerViewTarget itemTarget) {
+            mItemTarget = itemTarget;
+            return this;
+        }
+
         /**
          * @param backgroundColor background color of FancyShowCaseView
          * @return Builder
@@ -802,6 +1116,7 @@ public class FancyShowCaseView extends FrameLayout {
          */
         public Builder enterAnimation(Animation enterAnimation) {
             mEnterAnimation = enterAnimation;
+            mDefaultEnterAnimation = false;
             return this;
         }
 
@@ -811,6 +1126,7 @@ public class FancyShowCaseView extends FrameLayout {
          */
         public Builder exitAnimation(Animation exitAnimation) {
             mExitAnimation = exitAnimation;
+            mDefaultExitAnimation = false;
             return this;
         }
 
@@ -897,6 +1213,28 @@ public class FancyShowCaseView extends FrameLayout {
             return this;
         }
 
+        /**
+         * Stops the focus animation after the given number of pulses
+         *
+         * @param cycles number of pulses, negative to pulse until dismissed
+         * @return Builder
+         */
+        public Builder focusAnimationCycles(int cycles) {
+            mFocusAnimationCycles = cycles;
+            return this;
+        }
+
+        /**
+         * @param maskRenderMode how the dim layer is rendered, {@link MaskRenderMode#DIRECT} does not
+         *                       allocate a screen sized bitmap and {@link MaskRenderMode#ALPHA_8}
+         *                       uses a quarter of the memory of the default ARGB_8888 bitmap
+         * @return Builder
+         */
+        public Builder maskRenderMode(MaskRenderMode maskRenderMode) {
+            mMaskRenderMode = maskRenderMode;
+            return this;
+        }
+
         /**
          * 当设置形状为圆角矩形时，对focus区域周围增加padding，正padding相当于加大focus区域，负padding相当于减小focus区域
          */
@@ -917,15 +1255,51 @@ public class FancyShowCaseView extends FrameLayout {
         }
 
         /**
-         * builds the builder
+         * Moves the focus area along with the focused view while shown, e.g. while a list scrolls
+         *
+         * @param trackTargets true to track the focused views
+         * @return Builder
+         */
+        public Builder trackTargets(boolean trackTargets) {
+            mTrackTargets = trackTargets;
+            return this;
+        }
+
+        /**
+         * Builds a spec of the FancyShowCaseView instead of the view itself, e.g. for a step of a
+         * {@link FancyShowCaseQueue}. Later changes to this builder do not change the spec.
+         *
+         * @return {@link FancyShowCaseSpec} with given parameters
+         */
+        public FancyShowCaseSpec buildSpec() {
+            if (mId != null && mShowOnceStore == null) {
+                // the default flags load while the overlay is set up, a given store loads on its own
+                warmUp(mActivity);
+            }
+            return new FancyShowCaseSpec(this);
+        }
+
+        /**
+         * builds the builder, the same as creating the view of a {@link #buildSpec() spec}. The
+         * overlay's views are still created only when it is shown.
          *
          * @return {@link FancyShowCaseView} with given parameters
          */
         public FancyShowCaseView build() {
+            return buildSpec().createView();
+        }
+
+        /**
+         * Creates a new view with the parameters of this builder, called by
+         * {@link FancyShowCaseSpec#createView()}
+         */
+        FancyShowCaseView newView() {
+            Animation enterAnimation = mDefaultEnterAnimation ? loadFade(R.anim.fscv_fade_in) : mEnterAnimation;
+            Animation exitAnimation = mDefaultExitAnimation ? loadFade(R.anim.fscv_fade_out) : mExitAnimation;
 
             FancyShowCaseView fff = new FancyShowCaseView(mActivity, mView, mId, mTitle, mSpannedTitle, mTitleGravity, mTitleStyle, mTitleSize, mTitleSizeUnit,
                     mFocusCircleRadiusFactor, mBackgroundColor, mFocusBorderColor, mFocusBorderSize, mCustomViewRes, mViewInflateListener,
-                    mEnterAnimation, mExitAnimation, mCloseOnTouch, mFitSystemWindows, mFocusShape, mDismissListener, mRoundRectRadius,
+                    enterAnimation, exitAnimation, mCloseOnTouch, mFitSystemWindows, mFocusShape, mDismissListener, mRoundRectRadius,
                     mFocusPositionX, mFocusPositionY, mFocusCircleRadius, mFocusRectangleWidth, mFocusRectangleHeight, mFocusAnimationEnabled);
 
             fff.setViewInflateListenerV2(mViewInflateListenerV2);
@@ -934,7 +1308,23 @@ public class FancyShowCaseView extends FrameLayout {
 
             fff.setCirclePadding(circlePadding);
 
+            fff.setMaskRenderMode(mMaskRenderMode);
+
+            fff.setFocusAnimationCycles(mFocusAnimationCycles);
+
+            fff.setTrackTargets(mTrackTargets);
+            fff.setItemTarget(mItemTarget);
+            if (mShowOnceStore != null) {
+                fff.setShowOnceStore(mShowOnceStore);
+            }
+
             return fff;
         }
+
+        private Animation loadFade(@AnimRes int anim) {
+            Animation fade = AnimationUtils.loadAnimation(mActivity, anim);
+            fade.setFillAfter(true);
+            return fade;
+        }
     }
 }
@@ -0,0 +1,171 @@
+package me.toptas.fancyshowcase;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.FrameLayout;
+
+import me.toptas.fancyshowcase.core.LabelPlacer;
+
+/**
+ * Container of a custom view that moves anchors onto their focus areas during its own layout pass.
+ * Anchors are sized to their focus areas before the first measure, and right after the custom view
+ * is laid out every anchor and its companion view are translated so the anchor centers on its focus
+ * area. Labels are therefore placed on the very first frame, without posting and relaying out.
+ * Optionally the companion views are placed by a {@link LabelPlacer} instead, around their focus
+ * areas without overlapping other focus areas, each other or the screen edges.
+ */
+
+class FocusAnchorLayout extends FrameLayout {
+
+    private View[] mAnchors = new View[0];
+    private View[] mViews = new View[0];
+    private Rect[] mFocusRects = new Rect[0];
+
+    private LabelPlacer mLabelPlacer;
+    private float mLabelGap;
+    private float[] mPlacerRects;
+    private float[] mPlacerLabels;
+    private float[] mPlacedLabels;
+
+    FocusAnchorLayout(Context context) {
+        super(context);
+    }
+
+    /**
+     * @param anchors    anchor of each focus area, null if the focus area has none
+     * @param views      companion view of each anchor, moved along with it, may be null
+     * @param focusRects focus area bounds relative to this layout, empty ones are skipped
+     * @param labelGap   distance between a focus area and its view placed by {@link LabelPlacer},
+     *                   negative to move views along with their anchors instead
+     */
+    void setAnchors(View[] anchors, View[] views, Rect[] focusRects, float labelGap) {
+        mAnchors = anchors;
+        mViews = views;
+        mFocusRects = focusRects;
+
+        for (int i = 0; i < anchors.length; i++) {
+            if (anchors[i] != null && !focusRects[i].isEmpty()) {
+                ViewGroup.LayoutParams params = anchors[i].getLayoutParams();
+                params.width = focusRects[i].width();
+                params.height = focusRects[i].height();
+                anchors[i].setLayoutParams(params);
+            }
+        }
+
+        mLabelPlacer = labelGap >= 0 ? new LabelPlacer() : null;
+        mLabelGap = labelGap;
+        if (mLabelPlacer != null) {
+            mPlacerRects = new float[focusRects.length * 4];
+            for (int i = 0; i < focusRects.length; i++) {
+                mPlacerRects[i * 4] = focusRects[i].left;
+                mPlacerRects[i * 4 + 1] = focusRects[i].top;
+                mPlacerRects[i * 4 + 2] = focusRects[i].right;
+                mPlacerRects[i * 4 + 3] = focusRects[i].bottom;
+            }
+        }
+        requestLayout();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+            placeAnchors();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void placeAnchors() {
+        for (int i = 0; i < mAnchors.length; i++) {
+            View anchor = mAnchors[i];
+            if (anchor == null || mFocusRects[i].isEmpty()) {
+                continue;
+            }
+            float anchorCenterX = offsetLeft(anchor) + anchor.getWidth() / 2f;
+            float anchorCenterY = offsetTop(anchor) + anchor.getHeight() / 2f;
+            float dx = mFocusRects[i].exactCenterX() - anchorCenterX;
+            float dy = mFocusRects[i].exactCenterY() - anchorCenterY;
+
+            anchor.setTranslationX(dx);
+            anchor.setTranslationY(dy);
+            if (mViews[i] != null && mLabelPlacer == null) {
+                mViews[i].setTranslationX(dx);
+                mViews[i].setTranslationY(dy);
+            }
+        }
+        if (mLabelPlacer != null) {
+            placeLabels();
+        }
+    }
+
+    /**
+     * Moves every companion view to the position the label placer picked for it
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void placeLabels() {
+        int count = 0;
+        for (int i = 0; i < mViews.length; i++) {
+            if (isPlaced(i)) {
+                count++;
+            }
+        }
+        if (mPlacerLabels == null || mPlacerLabels.length != count * 3) {
+            mPlacerLabels = new float[count * 3];
+            mPlacedLabels = new float[count * 3];
+        }
+        int label = 0;
+        for (int i = 0; i < mViews.length; i++) {
+            if (isPlaced(i)) {
+                mPlacerLabels[label] = i;
+                mPlacerLabels[label + 1] = mViews[i].getWidth();
+                mPlacerLabels[label + 2] = mViews[i].getHeight();
+                label += 3;
+            }
+        }
+
+        mLabelPlacer.place(getWidth(), getHeight(), mPlacerRects, mPlacerLabels, mLabelGap, mPlacedLabels);
+
+        for (label = 0; label < mPlacedLabels.length; label += 3) {
+            View view = mViews[(int) mPlacerLabels[label]];
+            view.setTranslationX(mPlacedLabels[label] - offsetLeft(view));
+            view.setTranslationY(mPlacedLabels[label + 1] - offsetTop(view));
+        }
+    }
+
+    private boolean isPlaced(int i) {
+        return mAnchors[i] != null && mViews[i] != null && !mFocusRects[i].isEmpty();
+    }
+
+    /**
+     * @return left of the untranslated view relative to this layout
+     */
+    private int offsetLeft(View view) {
+        int left = view.getLeft();
+        ViewParent parent = view.getParent();
+        while (parent instanceof View && parent != this) {
+            View parentView = (View) parent;
+            left += parentView.getLeft() - parentView.getScrollX();
+            parent = parentView.getParent();
+        }
+        return left;
+    }
+
+    /**
+     * @return top of the untranslated view relative to this layout
+     */
+    private int offsetTop(View view) {
+        int top = view.getTop();
+        ViewParent parent = view.getParent();
+        while (parent instanceof View && parent != this) {
+            View parentView = (View) parent;
+            top += parentView.getTop() - parentView.getScrollY();
+            parent = parentView.getParent();
+        }
+        return top;
+    }
+}
@@ -6,6 +6,11 @@ import android.graphics.Color;
 import android.graphics.Rect;
 import android.view.View;
 
+import java.lang.ref.WeakReference;
+
+import me.toptas.fancyshowcase.core.FocusGeometry;
+import me.toptas.fancyshowcase.core.FocusStore;
+
 /**
  * Created by yzsh-sym on 2017/6/20.
  */
@@ -35,6 +40,13 @@ public class FocusDescriptor {
 
     boolean noHole;
 
+    int featherWidth;
+
+    // target view, read before the first frame if lazy and followed while the overlay tracks targets
+    private WeakReference<View> targetView;
+    private boolean lazy;
+    private RecyclerViewTarget itemTarget;
+
     /**
      * @deprecated 使用带context的构造器版本
      */
@@ -76,18 +88,91 @@ public class FocusDescriptor {
         int[] viewPoint = new int[2];
         view.getLocationInWindow(viewPoint);
 
-        viewPoint[0] = viewPoint[0] - contentViewLocation[0];
-        viewPoint[1] = viewPoint[1] - contentViewLocation[1];
+        target(view, viewPoint[0] - contentViewLocation[0], viewPoint[1] - contentViewLocation[1]);
+        trackTarget(view);
 
-        rectWidth = view.getWidth();
-        rectHeight = view.getHeight();
-        centerX = viewPoint[0] + rectWidth / 2;
-        centerY = viewPoint[1] + rectHeight / 2;
-        circleRadius = (int) (Math.hypot(view.getWidth(), view.getHeight()) / 2d);
+        return this;
+    }
 
+    /**
+     * 延迟读取view的区域：不在这里读取，而是在遮罩第一次绘制前(OnPreDrawListener)与其他延迟目标一起读取，
+     * 此时布局已经完成，不需要自己post延迟。只持有view的弱引用
+     *
+     * @param view target view, read right before the overlay is drawn first
+     */
+    public FocusDescriptor target(View view) {
+        trackTarget(view);
+        lazy = true;
         return this;
     }
 
+    /**
+     * @return true if the bounds are read from a target view before the first frame
+     */
+    boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * @param view view whose bounds this descriptor has, followed if the overlay tracks targets
+     */
+    void trackTarget(View view) {
+        targetView = new WeakReference<>(view);
+    }
+
+    /**
+     * @param target list item whose bounds this descriptor has, followed across view holders if
+     *               the overlay tracks targets
+     */
+    void trackItem(RecyclerViewTarget target) {
+        itemTarget = target;
+    }
+
+    /**
+     * @return target view, null if there is none or it is gone
+     */
+    View getTargetView() {
+        if (itemTarget != null) {
+            return itemTarget.findItemView();
+        }
+        return targetView == null ? null : targetView.get();
+    }
+
+    /**
+     * Moves the focus area along with its target view
+     *
+     * @param dx     horizontal movement of the target
+     * @param dy     vertical movement of the target
+     * @param width  new width of the target
+     * @param height new height of the target
+     */
+    void moveTarget(int dx, int dy, int width, int height) {
+        // keeps the left and top edge of the target, which is what moved by dx and dy
+        centerX += dx - rectWidth / 2 + width / 2;
+        centerY += dy - rectHeight / 2 + height / 2;
+        if (width != rectWidth || height != rectHeight) {
+            int oldRadius = FocusGeometry.viewRadius(rectWidth, rectHeight, 1);
+            double radiusFactor = oldRadius > 0 ? circleRadius / (double) oldRadius : 1;
+            circleRadius = FocusGeometry.viewRadius(width, height, radiusFactor);
+            rectWidth = width;
+            rectHeight = height;
+        }
+    }
+
+    /**
+     * Sets the focus area to the bounds of the view
+     *
+     * @param x x of the view relative to the content view
+     * @param y y of the view relative to the content view
+     */
+    void target(View view, int x, int y) {
+        rectWidth = view.getWidth();
+        rectHeight = view.getHeight();
+        centerX = FocusGeometry.center(x, rectWidth);
+        centerY = FocusGeometry.center(y, rectHeight);
+        circleRadius = FocusGeometry.viewRadius(rectWidth, rectHeight, 1);
+    }
+
     /**
      * 注意，当通过参数指明区域时，参数的坐标必须是相对于根布局区域的，具体请参考target方法内的注释
      */
@@ -199,11 +284,50 @@ public class FocusDescriptor {
         return borderSize(px);
     }
 
+    /**
+     * 圆形焦点区域的边缘羽化宽度，孔的边缘在这个宽度内由透明渐变到遮罩颜色，0为硬边缘。圆角矩形不支持羽化
+     *
+     * @param featherWidth feather width in pixels, 0 for a hard edge
+     */
+    public FocusDescriptor feather(int featherWidth) {
+        this.featherWidth = featherWidth;
+        return this;
+    }
+
+    public FocusDescriptor featherDp(int featherWidthDp) {
+        int px = Utils.dp2pxV2(context, featherWidthDp);
+        return feather(px);
+    }
+
     public FocusDescriptor noHole(boolean value) {
         this.noHole = value;
         return this;
     }
 
+    /**
+     * Appends the current values of this descriptor to the store
+     *
+     * @return index of the focus area in the store
+     */
+    int writeTo(FocusStore store) {
+        int index = store.add();
+        writeTo(store, index);
+        return index;
+    }
+
+    /**
+     * Overwrites the focus area at the given index of the store with the current values
+     */
+    void writeTo(FocusStore store, int index) {
+        store.setShape(index, FocusShape.CIRCLE.equals(focusShape), !noHole);
+        store.setCenter(index, centerX, centerY);
+        store.setRect(index, rectWidth, rectHeight, roundRectRadius);
+        store.setRectPadding(index, roundRectPaddingLeft, roundRectPaddingTop, roundRectPaddingRight,
+                roundRectPaddingBottom);
+        store.setCircle(index, circleRadius, circlePadding);
+        store.setBorder(index, focusBorderColor, focusBorderSize);
+        store.setFeather(index, featherWidth);
+    }
 
     @SuppressWarnings("WeakerAccess")
     public Rect getFocusAreaRect() {
@@ -211,17 +335,17 @@ public class FocusDescriptor {
 
         if (FocusShape.CIRCLE.equals(focusShape)) {
 
-            int realRadius = circleRadius + circlePadding;
+            int realRadius = (int) FocusGeometry.circleRadius(circleRadius, circlePadding, 0);
             rect = new Rect(centerX - realRadius, centerY - realRadius, centerX + realRadius, centerY + realRadius);
 
 
         } else if (FocusShape.ROUNDED_RECTANGLE.equals(focusShape)) {
 
             rect = new Rect(
-                    centerX - rectWidth / 2 - roundRectPaddingLeft,
-                    centerY - rectHeight / 2 - roundRectPaddingTop,
-                    centerX + rectWidth / 2 + roundRectPaddingRight,
-                    centerY + rectHeight / 2 + roundRectPaddingBottom);
+                    FocusGeometry.rectStart(centerX, rectWidth, roundRectPaddingLeft),
+                    FocusGeometry.rectStart(centerY, rectHeight, roundRectPaddingTop),
+                    FocusGeometry.rectEnd(centerX, rectWidth, roundRectPaddingRight),
+                    FocusGeometry.rectEnd(centerY, rectHeight, roundRectPaddingBottom));
 
         } else {
             throw new IllegalArgumentException();
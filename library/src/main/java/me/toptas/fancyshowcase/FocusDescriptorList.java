@@ -0,0 +1,111 @@
+package me.toptas.fancyshowcase;
+
+import android.app.Activity;
+import android.view.View;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.toptas.fancyshowcase.core.FocusStore;
+
+/**
+ * List of the focus descriptors of a {@link FancyShowCaseView}. The descriptors are packed into a
+ * {@link FocusStore}, which is what the renderer and the auto positioning read while drawing. The
+ * store is refreshed from the descriptors whenever it is {@link #storeOf(List) compiled}, i.e. when
+ * the overlay is shown and when a descriptor is added, so fluent calls made on a descriptor after
+ * adding it still take effect.
+ */
+
+class FocusDescriptorList extends AbstractList<FocusDescriptor> {
+
+    private final List<FocusDescriptor> mDescriptors = new ArrayList<>();
+    private final FocusStore mStore = new FocusStore();
+
+    @Override
+    public FocusDescriptor get(int index) {
+        return mDescriptors.get(index);
+    }
+
+    @Override
+    public int size() {
+        return mDescriptors.size();
+    }
+
+    /**
+     * Appends the descriptor, its values are read into the store when the store is compiled
+     */
+    @Override
+    public void add(int index, FocusDescriptor fd) {
+        if (index != mDescriptors.size()) {
+            throw new UnsupportedOperationException("focus descriptors can only be appended");
+        }
+        mDescriptors.add(fd);
+        fd.writeTo(mStore);
+    }
+
+    @Override
+    public void clear() {
+        mDescriptors.clear();
+        mStore.clear();
+    }
+
+    /**
+     * @return true if any descriptor has a target that is read before the first frame
+     */
+    boolean hasLazyTargets() {
+        for (FocusDescriptor fd : mDescriptors) {
+            if (fd.isLazy()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the bounds of all lazy targets in one {@link TargetResolver} pass and updates the store.
+     * Descriptors whose target is gone keep their values.
+     */
+    void resolveLazyTargets(Activity activity) {
+        TargetResolver resolver = new TargetResolver(activity);
+        for (FocusDescriptor fd : mDescriptors) {
+            View target = fd.isLazy() ? fd.getTargetView() : null;
+            if (target != null) {
+                resolver.add(target, fd);
+            }
+        }
+        resolver.resolve();
+        for (int i = 0; i < mDescriptors.size(); i++) {
+            if (mDescriptors.get(i).isLazy()) {
+                mDescriptors.get(i).writeTo(mStore, i);
+            }
+        }
+    }
+
+    /**
+     * @return the store, with the current values of every descriptor
+     */
+    FocusStore compileStore() {
+        for (int i = 0; i < mDescriptors.size(); i++) {
+            mDescriptors.get(i).writeTo(mStore, i);
+        }
+        return mStore;
+    }
+
+    /**
+     * @return store with the current values of the given descriptors, packed into a new one unless
+     * they already have a store
+     */
+    static FocusStore storeOf(List<FocusDescriptor> descriptors) {
+        if (descriptors instanceof FocusDescriptorList) {
+            return ((FocusDescriptorList) descriptors).compileStore();
+        }
+        FocusStore store = new FocusStore(descriptors == null ? 0 : descriptors.size());
+        if (descriptors != null) {
+            for (FocusDescriptor fd : descriptors) {
+                fd.writeTo(store);
+            }
+        }
+        return store;
+    }
+}
@@ -0,0 +1,218 @@
+package me.toptas.fancyshowcase;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import me.toptas.fancyshowcase.core.FocusGeometry;
+
+/**
+ * Frame time based clock for the focus area pulse animation. A single {@link ValueAnimator}, which
+ * runs on the Choreographer frame callbacks, drives every focus area of its view, so the pulse has
+ * the same speed on any refresh rate and frames are only requested while it is actually running.
+ */
+
+class FocusPulse {
+
+    /**
+     * Pulse repeats until the view is detached
+     */
+    static final int INFINITE = -1;
+
+    /**
+     * Maximum focus area growth in pixels, same as the former 20 step frame counter
+     */
+    static final float AMPLITUDE = 20;
+
+    /**
+     * Duration of growing or shrinking once, 20 frames at 60 fps
+     */
+    private static final long HALF_CYCLE_DURATION = 333;
+
+    private final View mView;
+    private final Runnable mOnFinished;
+    private View mFrameView;
+    private ValueAnimator mAnimator;
+    private float mOffset;
+    private int mCycles = INFINITE;
+    private long mPausedPlayTime = -1;
+    private boolean mFinished;
+
+    private boolean mEnabled;
+    private boolean mAttached;
+    private boolean mWindowFocused;
+    private boolean mWindowVisible;
+
+    /**
+     * @param view       animated view
+     * @param onFinished run once the pulse has finished all of its cycles
+     */
+    FocusPulse(View view, Runnable onFinished) {
+        mView = view;
+        mOnFinished = onFinished;
+        mFrameView = view;
+    }
+
+    /**
+     * @return current growth of the focus areas in pixels
+     */
+    float getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Moves the pulse to the given growth and redraws the frame view, as every animation frame
+     * does, e.g. to draw a given frame in tests
+     *
+     * @param offset growth of the focus areas in pixels, 0 to {@link #AMPLITUDE}
+     */
+    void setOffset(float offset) {
+        mOffset = offset;
+        mFrameView.invalidate();
+    }
+
+    /**
+     * @return true if the focus areas are animated or will be once the window is shown, false if
+     * the pulse is disabled or has finished all of its cycles
+     */
+    boolean isActive() {
+        return mEnabled && mCycles != 0 && !mFinished && Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB;
+    }
+
+    /**
+     * @param frameView view redrawn on every pulse frame instead of the animated view, e.g. a small
+     *                  view covering only the focus areas; null redraws the animated view
+     */
+    void setFrameView(View frameView) {
+        mFrameView = frameView == null ? mView : frameView;
+    }
+
+    /**
+     * @param animMoveFactor move factor of the animation
+     * @param borderSize     focus border stroke width
+     * @return how much a focus area's bounds must be grown to cover its pulse, border and anti
+     * aliasing
+     */
+    static int outset(double animMoveFactor, int borderSize) {
+        return FocusGeometry.pulseOutset(AMPLITUDE, animMoveFactor, borderSize);
+    }
+
+    /**
+     * @param enabled false keeps the focus areas at their base size
+     */
+    void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+        update();
+    }
+
+    /**
+     * @param cycles number of grow/shrink cycles before the pulse stops, 0 to disable it or
+     *               {@link #INFINITE} to keep pulsing while the view is shown. A pulse that already
+     *               started or finished starts over with the new number of cycles.
+     */
+    void setCycles(int cycles) {
+        mCycles = cycles;
+        mFinished = false;
+        if (mAnimator != null) {
+            discardAnimator();
+        }
+        update();
+    }
+
+    void onAttachedToWindow() {
+        mAttached = true;
+        mWindowFocused = mView.hasWindowFocus();
+        mWindowVisible = mView.getWindowVisibility() == View.VISIBLE;
+        update();
+    }
+
+    void onDetachedFromWindow() {
+        mAttached = false;
+        update();
+        mAnimator = null;
+        mPausedPlayTime = -1;
+    }
+
+    void onWindowFocusChanged(boolean hasWindowFocus) {
+        mWindowFocused = hasWindowFocus;
+        update();
+    }
+
+    void onWindowVisibilityChanged(int visibility) {
+        mWindowVisible = visibility == View.VISIBLE;
+        update();
+    }
+
+    /**
+     * Starts, pauses or resumes the animator depending on the view and window state
+     */
+    private void update() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+            return;
+        }
+        if (isActive() && mAttached && mWindowFocused && mWindowVisible) {
+            resume();
+        } else {
+            pause();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void resume() {
+        if (mAnimator == null) {
+            mAnimator = ValueAnimator.ofFloat(0, AMPLITUDE);
+            mAnimator.setDuration(HALF_CYCLE_DURATION);
+            mAnimator.setInterpolator(new LinearInterpolator());
+            mAnimator.setRepeatMode(ValueAnimator.REVERSE);
+            mAnimator.setRepeatCount(mCycles == INFINITE ? ValueAnimator.INFINITE : mCycles * 2 - 1);
+            mAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    setOffset(animation.getAnimatedFraction() * AMPLITUDE);
+                }
+            });
+            mAnimator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    if (animation == mAnimator && mPausedPlayTime < 0) {
+                        // not cancelled by pause() or discarded, all cycles are done
+                        mFinished = true;
+                        mOnFinished.run();
+                    }
+                }
+            });
+        } else if (mAnimator.isStarted()) {
+            return;
+        }
+        mAnimator.start();
+        if (mPausedPlayTime > 0) {
+            mAnimator.setCurrentPlayTime(mPausedPlayTime);
+        }
+        mPausedPlayTime = -1;
+    }
+
+    /**
+     * Stops the animator without finishing the pulse, the next {@link #resume()} creates a new one
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void discardAnimator() {
+        ValueAnimator animator = mAnimator;
+        mAnimator = null;
+        mPausedPlayTime = -1;
+        mOffset = 0;
+        animator.cancel();
+        mFrameView.invalidate();
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private void pause() {
+        if (mAnimator != null && mAnimator.isStarted()) {
+            mPausedPlayTime = mAnimator.getCurrentPlayTime();
+            mAnimator.cancel();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+
+/**
+ * Small view covering only the pulsing focus areas of a {@link FancyImageViewV2}. It is laid out
+ * over the focus areas and redrawn on every pulse frame, while the dim layer under it draws the
+ * static mask around it and is not redrawn at all while the focus areas pulse.
+ */
+
+class FocusPulseView extends View {
+
+    private final FancyImageViewV2 mMaskView;
+
+    FocusPulseView(Context context, FancyImageViewV2 maskView) {
+        super(context);
+        mMaskView = maskView;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        // the focus areas are in the coordinates of the dim layer
+        canvas.translate(mMaskView.getLeft() - getLeft(), mMaskView.getTop() - getTop());
+        mMaskView.drawFocusAreas(canvas);
+    }
+}
@@ -0,0 +1,21 @@
+package me.toptas.fancyshowcase;
+
+/**
+ * Offscreen layer usage of a {@link FancyShowCaseView}
+ */
+
+public enum LayerStrategy {
+    /**
+     * Drawn straight into the window, no offscreen layer is held
+     */
+    DIRECT,
+    /**
+     * A hardware layer is held only while the enter or exit animation runs
+     */
+    TRANSITION,
+    /**
+     * The dim layer keeps a hardware layer for as long as it is shown, because its focus areas are
+     * erased from a bitmap
+     */
+    OFFSCREEN
+}
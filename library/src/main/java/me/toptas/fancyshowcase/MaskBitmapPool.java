@@ -0,0 +1,142 @@
+package me.toptas.fancyshowcase;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Pool of dim layer bitmaps shared by all overlay views. A bitmap is returned to the pool when its
+ * view is detached, so consecutive steps of a {@link FancyShowCaseQueue} reuse the same buffer
+ * instead of allocating a screen sized bitmap each. Pooled bitmaps are released when the system
+ * asks the app to trim memory.
+ */
+
+public class MaskBitmapPool {
+
+    /**
+     * At most this many bitmaps are kept, one per size and config is enough for a queue
+     */
+    private static final int MAX_POOLED = 2;
+
+    private static MaskBitmapPool sInstance;
+
+    private final LinkedList<Bitmap> mPool = new LinkedList<>();
+    private boolean mRegistered;
+    private int mHitCount;
+    private int mMissCount;
+    private long mBytesHeld;
+
+    private MaskBitmapPool() {
+    }
+
+    public static synchronized MaskBitmapPool getInstance() {
+        if (sInstance == null) {
+            sInstance = new MaskBitmapPool();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Registers for trim memory callbacks of the application, once
+     *
+     * @param context any context of the application
+     */
+    synchronized void register(Context context) {
+        if (mRegistered || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            return;
+        }
+        mRegistered = true;
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                    clear();
+                }
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                clear();
+            }
+        });
+    }
+
+    /**
+     * @return a pooled bitmap with given size and config, null if there is none
+     */
+    synchronized Bitmap acquire(int width, int height, Bitmap.Config config) {
+        Iterator<Bitmap> iterator = mPool.iterator();
+        while (iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config) {
+                iterator.remove();
+                mBytesHeld -= byteCount(bitmap);
+                mHitCount++;
+                return bitmap;
+            }
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * Returns a bitmap to the pool, the oldest pooled bitmap is recycled if the pool is full
+     */
+    synchronized void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || mPool.contains(bitmap)) {
+            return;
+        }
+        mPool.addLast(bitmap);
+        mBytesHeld += byteCount(bitmap);
+        if (mPool.size() > MAX_POOLED) {
+            Bitmap oldest = mPool.removeFirst();
+            mBytesHeld -= byteCount(oldest);
+            oldest.recycle();
+        }
+    }
+
+    /**
+     * Recycles all pooled bitmaps
+     */
+    public synchronized void clear() {
+        for (Bitmap bitmap : mPool) {
+            bitmap.recycle();
+        }
+        mPool.clear();
+        mBytesHeld = 0;
+    }
+
+    /**
+     * @return number of bitmaps that were served from the pool
+     */
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * @return number of bitmaps that had to be allocated because the pool had no match
+     */
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * @return bytes currently held by pooled bitmaps
+     */
+    public synchronized long getBytesHeld() {
+        return mBytesHeld;
+    }
+
+    private static long byteCount(Bitmap bitmap) {
+        return (long) bitmap.getRowBytes() * bitmap.getHeight();
+    }
+}
@@ -0,0 +1,24 @@
+package me.toptas.fancyshowcase;
+
+/**
+ * How the dim layer of a {@link FancyShowCaseView} is rendered
+ */
+
+public enum MaskRenderMode {
+    /**
+     * Fills a screen sized ARGB_8888 bitmap with the background color and erases the focus
+     * areas from it
+     */
+    BITMAP,
+    /**
+     * Same as {@link #BITMAP} but the bitmap is an ALPHA_8 coverage mask tinted with the
+     * background color, a quarter of the memory. {@link #BITMAP} falls back to this mode when
+     * memory is low.
+     */
+    ALPHA_8,
+    /**
+     * Draws the background color straight onto the canvas around the focus areas, no backing
+     * bitmap is allocated
+     */
+    DIRECT
+}
@@ -0,0 +1,192 @@
+package me.toptas.fancyshowcase;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Focus target that is a RecyclerView item, given by adapter position or stable id instead of by
+ * its current item view. Before the overlay is shown the item is scrolled into view by the minimum
+ * distance needed and the overlay waits for the layout pass that binds it. While shown the focus
+ * area follows whichever view holder the item is bound to.
+ * <pre>
+ * new FancyShowCaseView.Builder(activity)
+ *         .focusOn(RecyclerViewTarget.position(recyclerView, 40))
+ *         .title("Item 40")
+ *         .build()
+ *         .show();
+ * </pre>
+ * The list is held weakly, a target kept in a queued {@link FancyShowCaseSpec} does not keep its
+ * activity alive. Needs the RecyclerView support library, which the library itself does not
+ * depend on.
+ */
+
+public class RecyclerViewTarget {
+
+    private final WeakReference<RecyclerView> mRecyclerView;
+    private final int mPosition;
+    private final long mItemId;
+
+    private RecyclerViewTarget(RecyclerView recyclerView, int position, long itemId) {
+        mRecyclerView = new WeakReference<>(recyclerView);
+        mPosition = position;
+        mItemId = itemId;
+    }
+
+    /**
+     * @param recyclerView list containing the item
+     * @param position     adapter position of the item
+     * @return target of the item at the given position
+     */
+    public static RecyclerViewTarget position(RecyclerView recyclerView, int position) {
+        return new RecyclerViewTarget(recyclerView, position, RecyclerView.NO_ID);
+    }
+
+    /**
+     * @param recyclerView list containing the item, its adapter must have stable ids
+     * @param itemId       stable id of the item
+     * @return target of the item with the given id, wherever it moves in the adapter
+     */
+    public static RecyclerViewTarget itemId(RecyclerView recyclerView, long itemId) {
+        return new RecyclerViewTarget(recyclerView, RecyclerView.NO_POSITION, itemId);
+    }
+
+    /**
+     * @return view the item is currently bound to, null if it is not laid out or the list is gone
+     */
+    View findItemView() {
+        RecyclerView recyclerView = mRecyclerView.get();
+        return recyclerView == null ? null : findItemView(recyclerView);
+    }
+
+    private View findItemView(RecyclerView recyclerView) {
+        RecyclerView.ViewHolder holder = mItemId != RecyclerView.NO_ID
+                ? recyclerView.findViewHolderForItemId(mItemId)
+                : recyclerView.findViewHolderForAdapterPosition(mPosition);
+        return holder == null ? null : holder.itemView;
+    }
+
+    /**
+     * Scrolls the item fully into view and runs the given action once its view is laid out,
+     * right away if it already is. If the list is gone, the item does not exist, leaves the adapter
+     * while waiting or the list is detached, the other action is run instead and the wait ends.
+     *
+     * @param onBound   action run when {@link #findItemView()} returns the laid out item view
+     * @param onMissing action run when the item cannot be brought into view
+     */
+    void bringIntoView(final Runnable onBound, final Runnable onMissing) {
+        final RecyclerView recyclerView = mRecyclerView.get();
+        if (recyclerView == null) {
+            onMissing.run();
+            return;
+        }
+        if (!recyclerView.isLayoutRequested() && findItemView(recyclerView) != null) {
+            scrollFullyIntoView(recyclerView, findItemView(recyclerView));
+            onBound.run();
+            return;
+        }
+        int position = adapterPosition(recyclerView);
+        if (position == RecyclerView.NO_POSITION) {
+            onMissing.run();
+            return;
+        }
+        if (findItemView(recyclerView) == null) {
+            recyclerView.scrollToPosition(position);
+        }
+        // registered on the list's own view tree, so it holds the list only while it is attached
+        recyclerView.getViewTreeObserver().addOnGlobalLayoutListener(
+                new ViewTreeObserver.OnGlobalLayoutListener() {
+                    @Override
+                    public void onGlobalLayout() {
+                        if (recyclerView.getWindowToken() == null) {
+                            removeOnGlobalLayoutListener(recyclerView, this);
+                            onMissing.run();
+                            return;
+                        }
+                        View itemView = findItemView(recyclerView);
+                        if (itemView == null && adapterPosition(recyclerView) == RecyclerView.NO_POSITION) {
+                            // removed from the adapter while waiting
+                            removeOnGlobalLayoutListener(recyclerView, this);
+                            onMissing.run();
+                            return;
+                        }
+                        if (itemView == null || recyclerView.isLayoutRequested()) {
+                            // not bound yet, a later layout pass binds it
+                            return;
+                        }
+                        removeOnGlobalLayoutListener(recyclerView, this);
+                        scrollFullyIntoView(recyclerView, itemView);
+                        onBound.run();
+                    }
+                });
+    }
+
+    /**
+     * @return adapter position of the item, {@link RecyclerView#NO_POSITION} if it is not in the
+     * adapter
+     */
+    private int adapterPosition(RecyclerView recyclerView) {
+        RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        if (adapter == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        int count = adapter.getItemCount();
+        if (mItemId == RecyclerView.NO_ID) {
+            return mPosition >= 0 && mPosition < count ? mPosition : RecyclerView.NO_POSITION;
+        }
+        if (!adapter.hasStableIds()) {
+            return RecyclerView.NO_POSITION;
+        }
+        for (int i = 0; i < count; i++) {
+            if (adapter.getItemId(i) == mItemId) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Scrolls a partly visible item view by the distance its edges stick out of the list
+     */
+    private static void scrollFullyIntoView(RecyclerView recyclerView, View itemView) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager == null) {
+            return;
+        }
+        int dx = 0;
+        int dy = 0;
+        if (layoutManager.canScrollHorizontally()) {
+            dx = overhang(itemView.getLeft(), itemView.getRight(), recyclerView.getPaddingLeft(),
+                    recyclerView.getWidth() - recyclerView.getPaddingRight());
+        }
+        if (layoutManager.canScrollVertically()) {
+            dy = overhang(itemView.getTop(), itemView.getBottom(), recyclerView.getPaddingTop(),
+                    recyclerView.getHeight() - recyclerView.getPaddingBottom());
+        }
+        if (dx != 0 || dy != 0) {
+            recyclerView.scrollBy(dx, dy);
+        }
+    }
+
+    /**
+     * @return scroll distance moving start and end inside min and max, the start wins if the item
+     * is larger than the list
+     */
+    private static int overhang(int start, int end, int min, int max) {
+        if (start < min) {
+            return start - min;
+        }
+        if (end > max) {
+            return Math.min(end - max, start - min);
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void removeOnGlobalLayoutListener(RecyclerView recyclerView,
+                                                     ViewTreeObserver.OnGlobalLayoutListener listener) {
+        recyclerView.getViewTreeObserver().removeGlobalOnLayoutListener(listener);
+    }
+}
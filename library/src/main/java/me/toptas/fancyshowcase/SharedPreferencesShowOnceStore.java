@@ -0,0 +1,70 @@
+package me.toptas.fancyshowcase;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Map;
+import java.util.Set;
+
+import me.toptas.fancyshowcase.core.AsyncShowOnceStore;
+
+/**
+ * Show once flags in the PrefShowCaseView SharedPreferences, one boolean per id. This is the
+ * default store, it keeps the flags written by earlier versions. The flags are loaded on a
+ * background thread as soon as the store is created and changes are committed in batches on the
+ * same thread. Creating the store early, e.g. in Application#onCreate, makes sure the flags are
+ * loaded before the first overlay asks for them.
+ */
+
+public class SharedPreferencesShowOnceStore extends AsyncShowOnceStore {
+
+    // SharedPreferences name
+    private static final String PREF_NAME = "PrefShowCaseView";
+
+    private static SharedPreferencesShowOnceStore sInstance;
+
+    private final SharedPreferences mSharedPreferences;
+
+    private SharedPreferencesShowOnceStore(Context context) {
+        super(backgroundExecutor());
+        mSharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        startLoading();
+    }
+
+    /**
+     * @param context any context of the application
+     * @return the store, which starts loading the flags when called first
+     */
+    public static synchronized SharedPreferencesShowOnceStore getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new SharedPreferencesShowOnceStore(context.getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    @Override
+    protected void load(Set<Long> shown) {
+        for (Map.Entry<String, ?> entry : mSharedPreferences.getAll().entrySet()) {
+            if (Boolean.TRUE.equals(entry.getValue())) {
+                shown.add(key(entry.getKey()));
+            }
+        }
+    }
+
+    @Override
+    protected void write(Map<String, Boolean> changes, boolean clear) {
+        SharedPreferences.Editor editor = mSharedPreferences.edit();
+        if (clear) {
+            editor.clear();
+        }
+        for (Map.Entry<String, Boolean> entry : changes.entrySet()) {
+            if (entry.getValue()) {
+                editor.putBoolean(entry.getKey(), true);
+            } else {
+                editor.remove(entry.getKey());
+            }
+        }
+        // already off the main thread, commit keeps the writes in order
+        editor.commit();
+    }
+}
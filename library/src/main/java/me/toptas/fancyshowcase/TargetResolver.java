@@ -0,0 +1,91 @@
+package me.toptas.fancyshowcase;
+
+import android.app.Activity;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the focus areas of many target views in one pass. The content view location is looked
+ * up once per batch instead of once per {@link FocusDescriptor#target(Activity, View)} call, and
+ * targets sharing a parent walk the hierarchy only once for that parent.
+ * <pre>
+ * new TargetResolver(activity)
+ *         .add(button1, fd1)
+ *         .add(button2, fd2)
+ *         .resolve();
+ * </pre>
+ */
+
+public class TargetResolver {
+
+    private final Activity mActivity;
+    private final List<View> mViews = new ArrayList<>();
+    private final List<FocusDescriptor> mDescriptors = new ArrayList<>();
+
+    public TargetResolver(Activity activity) {
+        mActivity = activity;
+    }
+
+    /**
+     * @param view target view
+     * @param fd   descriptor receiving the bounds of the view on {@link #resolve()}
+     * @return this
+     */
+    public TargetResolver add(View view, FocusDescriptor fd) {
+        mViews.add(view);
+        mDescriptors.add(fd);
+        return this;
+    }
+
+    /**
+     * Writes the bounds of every added view, relative to the content view, into its descriptor
+     */
+    public void resolve() {
+        int size = mViews.size();
+        if (size == 0) {
+            return;
+        }
+        int[] contentLocation = new int[2];
+        mActivity.findViewById(android.R.id.content).getLocationInWindow(contentLocation);
+
+        Map<View, int[]> parentLocations = new IdentityHashMap<>();
+        int[] viewPoint = new int[2];
+        for (int i = 0; i < size; i++) {
+            View view = mViews.get(i);
+            locationInWindow(view, parentLocations, viewPoint);
+            mDescriptors.get(i).target(view, viewPoint[0] - contentLocation[0],
+                    viewPoint[1] - contentLocation[1]);
+        }
+    }
+
+    /**
+     * Same as {@link View#getLocationInWindow(int[])}, but derived from the cached location of
+     * its parent if the view is not transformed, every parent is located once per batch
+     */
+    private static void locationInWindow(View view, Map<View, int[]> parentLocations, int[] out) {
+        ViewParent parent = view.getParent();
+        if (!(parent instanceof View) || !isUntransformed(view)) {
+            view.getLocationInWindow(out);
+            return;
+        }
+        View parentView = (View) parent;
+        int[] parentLocation = parentLocations.get(parentView);
+        if (parentLocation == null) {
+            parentLocation = new int[2];
+            parentView.getLocationInWindow(parentLocation);
+            parentLocations.put(parentView, parentLocation);
+        }
+        out[0] = parentLocation[0] + view.getLeft() - parentView.getScrollX();
+        out[1] = parentLocation[1] + view.getTop() - parentView.getScrollY();
+    }
+
+    private static boolean isUntransformed(View view) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && view.getMatrix().isIdentity();
+    }
+}
@@ -0,0 +1,127 @@
+package me.toptas.fancyshowcase;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.util.Arrays;
+
+/**
+ * Follows the target views of the focus areas while the overlay is shown, e.g. while a list
+ * scrolls, a toolbar collapses or the keyboard resizes the window. A single pre-draw listener
+ * compares the window location and size of every target with the ones its focus area was last
+ * set to, and only focus areas whose target actually moved are updated and invalidated. A frame
+ * where nothing moved costs one location lookup per target.
+ */
+
+class TargetTracker implements ViewTreeObserver.OnPreDrawListener {
+
+    private final FocusDescriptorList mDescriptors;
+    private final FancyImageViewV2 mImageView;
+    private final int[] mLocation = new int[2];
+
+    // location and size of each target the focus area was last set to, grown with the descriptors
+    private int[] mX = new int[0];
+    private int[] mY = new int[0];
+    private int[] mWidth = new int[0];
+    private int[] mHeight = new int[0];
+    private boolean[] mKnown = new boolean[0];
+
+    /**
+     * Captures the targets right away, so a target moving before the first frame is followed
+     */
+    TargetTracker(FocusDescriptorList descriptors, FancyImageViewV2 imageView) {
+        mDescriptors = descriptors;
+        mImageView = imageView;
+        ensureCapacity(descriptors.size());
+        for (int i = 0; i < descriptors.size(); i++) {
+            capture(i);
+        }
+    }
+
+    /**
+     * Captures the targets of lazy descriptors again, called right after their focus areas were
+     * read from them
+     */
+    void captureLazyTargets() {
+        ensureCapacity(mDescriptors.size());
+        for (int i = 0; i < mDescriptors.size(); i++) {
+            if (mDescriptors.get(i).isLazy()) {
+                capture(i);
+            }
+        }
+    }
+
+    /**
+     * Captures the target of a descriptor added while shown, its focus area matches the target now
+     */
+    void captureAdded() {
+        ensureCapacity(mDescriptors.size());
+        for (int i = 0; i < mDescriptors.size(); i++) {
+            if (!mKnown[i]) {
+                capture(i);
+            }
+        }
+    }
+
+    @Override
+    public boolean onPreDraw() {
+        int size = mDescriptors.size();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            FocusDescriptor fd = mDescriptors.get(i);
+            View target = fd.getTargetView();
+            if (target == null || target.getWindowToken() == null) {
+                continue;
+            }
+            target.getLocationInWindow(mLocation);
+            int x = mLocation[0];
+            int y = mLocation[1];
+            int width = target.getWidth();
+            int height = target.getHeight();
+            if (!mKnown[i]) {
+                // the target was not attached when captured, its focus area is taken as is
+                set(i, x, y, width, height);
+                continue;
+            }
+            if (x == mX[i] && y == mY[i] && width == mWidth[i] && height == mHeight[i]) {
+                continue;
+            }
+            fd.moveTarget(x - mX[i], y - mY[i], width, height);
+            mImageView.moveFocusArea(i, fd);
+            set(i, x, y, width, height);
+        }
+        return true;
+    }
+
+    /**
+     * Remembers where the target of the descriptor is now, if it is attached
+     */
+    private void capture(int i) {
+        View target = mDescriptors.get(i).getTargetView();
+        if (target == null || target.getWindowToken() == null) {
+            return;
+        }
+        target.getLocationInWindow(mLocation);
+        set(i, mLocation[0], mLocation[1], target.getWidth(), target.getHeight());
+    }
+
+    private void set(int i, int x, int y, int width, int height) {
+        mX[i] = x;
+        mY[i] = y;
+        mWidth[i] = width;
+        mHeight[i] = height;
+        mKnown[i] = true;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= mKnown.length) {
+            return;
+        }
+        int capacity = Math.max(size, mKnown.length * 2);
+        mX = Arrays.copyOf(mX, capacity);
+        mY = Arrays.copyOf(mY, capacity);
+        mWidth = Arrays.copyOf(mWidth, capacity);
+        mHeight = Arrays.copyOf(mHeight, capacity);
+        mKnown = Arrays.copyOf(mKnown, capacity);
+    }
+}
@@ -1,5 +1,6 @@
 package me.toptas.fancyshowcase;
 
+import android.app.ActivityManager;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
@@ -10,6 +11,8 @@ import android.os.Build;
 import android.util.TypedValue;
 import android.view.View;
 
+import me.toptas.fancyshowcase.core.FocusGeometry;
+
 /**
  * Created by faruktoptas on 09/03/17.
  * Util class for {@link FancyShowCaseView}
@@ -39,10 +42,9 @@ class Utils {
             int[] viewPoint = new int[2];
             view.getLocationInWindow(viewPoint);
 
-            point[0] = viewPoint[0] + view.getWidth() / 2;
-            point[1] = viewPoint[1] + view.getHeight() / 2 - adjustHeight;
-            int radius = (int) ((int) (Math.hypot(view.getWidth(), view.getHeight()) / 2) * circleRadiusFactor);
-            point[2] = radius;
+            point[0] = FocusGeometry.center(viewPoint[0], view.getWidth());
+            point[1] = FocusGeometry.center(viewPoint[1], view.getHeight()) - adjustHeight;
+            point[2] = FocusGeometry.viewRadius(view.getWidth(), view.getHeight(), circleRadiusFactor);
             return point;
         }
         return null;
@@ -62,6 +64,58 @@ class Utils {
         c.drawCircle(point[0], point[1], radius, p);
     }
 
+    /**
+     * Returns the backing bitmap of the dim layer, from {@link MaskBitmapPool} if it has a match.
+     * Uses an ALPHA_8 coverage mask instead of an ARGB_8888 bitmap when asked to, or when the
+     * ARGB_8888 bitmap would not comfortably fit in memory.
+     *
+     * @param context context to check memory state
+     * @param width   bitmap width
+     * @param height  bitmap height
+     * @param mode    {@link MaskRenderMode#BITMAP} or {@link MaskRenderMode#ALPHA_8}
+     * @return bitmap with undefined content, null if even the ALPHA_8 mask could not be allocated
+     */
+    static Bitmap createMaskBitmap(Context context, int width, int height, MaskRenderMode mode) {
+        MaskBitmapPool pool = MaskBitmapPool.getInstance();
+        pool.register(context);
+
+        Bitmap.Config config = mode == MaskRenderMode.ALPHA_8 || isLowOnMemory(context, (long) width * height * 4)
+                ? Bitmap.Config.ALPHA_8 : Bitmap.Config.ARGB_8888;
+        Bitmap bitmap = pool.acquire(width, height, config);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        try {
+            return Bitmap.createBitmap(width, height, config);
+        } catch (OutOfMemoryError e) {
+            // pooled bitmaps of other sizes are of no use now
+            pool.clear();
+        }
+        try {
+            return Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+        } catch (OutOfMemoryError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param context context to access ActivityManager
+     * @param bytes   size of the allocation that is about to happen
+     * @return true if the device is a low RAM device or the allocation would take more than a
+     * quarter of the heap that is still available
+     */
+    static boolean isLowOnMemory(Context context, long bytes) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+            if (activityManager != null && activityManager.isLowRamDevice()) {
+                return true;
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return bytes * 4 > available;
+    }
+
     /**
      * Returns statusBar height
      *